@@ -0,0 +1,88 @@
+package benchmarks;
+
+import base.TestBase;
+import behaviour.ActionMethods;
+import behaviour.GetMethods;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of ActionMethods/GetMethods over the raw WebDriver call they wrap.
+ * Each "raw" benchmark is the baseline for the helper benchmark next to it; the
+ * difference is wait setup, ExpectedCondition polling and log message building.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BehaviourBenchmark {
+
+    private static final By TITLE = By.className("title");
+
+    private final ActionMethods actionMethods = ActionMethods.getInstance;
+    private final GetMethods getMethods = GetMethods.getInstance;
+
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void openSession() {
+        driver = FakeSessions.openInventory(6);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSession() {
+        FakeSessions.close(driver);
+    }
+
+    @Benchmark
+    public String rawGetText() {
+        return driver.findElement(TITLE).getText();
+    }
+
+    @Benchmark
+    public String getMethodsGetText() {
+        return getMethods.getText(TITLE);
+    }
+
+    @Benchmark
+    public boolean rawIsDisplayed() {
+        return driver.findElement(TITLE).isDisplayed();
+    }
+
+    @Benchmark
+    public boolean actionMethodsIsDisplayed() {
+        return actionMethods.isDisplayed(TITLE);
+    }
+
+    /** Reused per-thread WebDriverWait, as the helpers do through TestBase.getWait(). */
+    @Benchmark
+    public Object sharedWaitUntilVisible() {
+        return TestBase.getWait().until(ExpectedConditions.visibilityOfElementLocated(TITLE));
+    }
+
+    /** Cost of building a new WebDriverWait for every lookup. */
+    @Benchmark
+    public Object newWaitUntilVisible() {
+        return new WebDriverWait(driver, Duration.ofSeconds(15))
+                .until(ExpectedConditions.visibilityOfElementLocated(TITLE));
+    }
+}
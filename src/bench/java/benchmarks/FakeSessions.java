@@ -0,0 +1,37 @@
+package benchmarks;
+
+import base.TestBase;
+import fake.AppPageSource;
+import fake.FakeWebDriver;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import server.Catalog;
+import server.SauceDemoApp;
+
+/**
+ * Stub driver sessions for benchmarks: a FakeWebDriver over the in-process SauceDemo
+ * replica, logged in and bound to the calling thread through TestBase, so the behaviour
+ * helpers and page objects run exactly as in the suite but without browser round trips.
+ */
+public final class FakeSessions {
+
+    public static final String BASE_URL = "http://saucedemo.bench";
+
+    private FakeSessions() {}
+
+    /** Creates a logged-in session on the inventory page and binds it to the current thread. */
+    public static WebDriver openInventory(int catalogSize) {
+        FakeWebDriver driver = new FakeWebDriver(
+                new AppPageSource(new SauceDemoApp(Catalog.ofSize(catalogSize, 42), 0)));
+        driver.get(BASE_URL + "/");
+        driver.manage().addCookie(new Cookie(SauceDemoApp.SESSION_COOKIE, "standard_user"));
+        driver.get(BASE_URL + "/inventory.html");
+        TestBase.bindDriver(driver);
+        return driver;
+    }
+
+    public static void close(WebDriver driver) {
+        TestBase.unbindDriver();
+        driver.quit();
+    }
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import base.TestBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the log lines the behaviour helpers write on every call
+ * (e.g. GetMethods.getText: "Retrieved text '...' from By...").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final Logger logger = TestBase.logger;
+
+    private final By locator = By.cssSelector(".inventory_list > .inventory_item:nth-child(4) div.pricebar .inventory_item_price");
+    private final String text = "$49.99";
+
+    /** String building alone (includes By.toString). */
+    @Benchmark
+    public String buildMessage() {
+        return "Retrieved text '" + text + "' from " + locator;
+    }
+
+    /** What the helpers do today: concatenate eagerly, then log at INFO. */
+    @Benchmark
+    public void logConcatenated() {
+        logger.info("Retrieved text '" + text + "' from " + locator);
+    }
+
+    /** SLF4J parameterised form for comparison. */
+    @Benchmark
+    public void logParameterized() {
+        logger.info("Retrieved text '{}' from {}", text, locator);
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import configuration.ReadConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReadConfig getters re-read and re-parse the Properties value on every call
+ * (e.g. Integer.parseInt for timeouts, toLowerCase for the browser).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadConfigBenchmark {
+
+    private final ReadConfig config = ReadConfig.getInstance();
+
+    @Benchmark
+    public ReadConfig getInstance() {
+        return ReadConfig.getInstance();
+    }
+
+    @Benchmark
+    public int getExplicitWait() {
+        return config.getExplicitWait();
+    }
+
+    @Benchmark
+    public String getBrowser() {
+        return config.getBrowser();
+    }
+
+    @Benchmark
+    public boolean isHeadless() {
+        return config.isHeadless();
+    }
+}
@@ -0,0 +1,70 @@
+package pages;
+
+import benchmarks.FakeSessions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductsPage hot paths against catalogs of increasing size: the highest-price scan
+ * (one locator build + wait + getText per item), the locator string building on its own,
+ * and price parsing. Lives in package pages to reach the package-private parseDollarPrice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsPageBenchmark {
+
+    @Param({"6", "100", "1000"})
+    public int catalogSize;
+
+    private final ProductsPage productsPage = new ProductsPage();
+
+    private WebDriver driver;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void openSession() {
+        driver = FakeSessions.openInventory(catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSession() {
+        FakeSessions.close(driver);
+    }
+
+    @Benchmark
+    public ProductsPage.ProductInfo findHighestPricedItem() {
+        return productsPage.findHighestPricedItemFromList();
+    }
+
+    /** Per-item locator construction done inside the scan loop. */
+    @Benchmark
+    public By buildPriceLocator() {
+        index = index % catalogSize + 1;
+        return By.cssSelector(
+                ".inventory_list > .inventory_item:nth-child(%d) div.pricebar .inventory_item_price".formatted(index));
+    }
+
+    @Benchmark
+    public double parseDollarPrice() {
+        return ProductsPage.parseDollarPrice(" $29.99 ");
+    }
+}
@@ -75,4 +75,260 @@ public class ReadConfig {
     public String getWindowSize() {
         return properties.getProperty("windowSize", "maximize");
     }
+
+    // Load-test (virtual user) settings
+    public int getLoadUsers() {
+        return Integer.parseInt(properties.getProperty("loadUsers", "5"));
+    }
+
+    public int getLoadIterations() {
+        return Integer.parseInt(properties.getProperty("loadIterations", "0"));
+    }
+
+    public int getLoadDurationSeconds() {
+        return Integer.parseInt(properties.getProperty("loadDurationSeconds", "60"));
+    }
+
+    public int getLoadRampUpSeconds() {
+        return Integer.parseInt(properties.getProperty("loadRampUpSeconds", "10"));
+    }
+
+    public int getLoadPoolSize() {
+        return Integer.parseInt(properties.getProperty("loadPoolSize", "5"));
+    }
+
+    public String getLoadUsername() {
+        return properties.getProperty("loadUsername", "standard_user");
+    }
+
+    public String getLoadPassword() {
+        return properties.getProperty("loadPassword", "secret_sauce");
+    }
+
+    // Data-driven runs (data.DataDrivenRunner)
+    public String getDataFile() {
+        return properties.getProperty("dataFile", "src/test/resources/data/users.csv");
+    }
+
+    public String getDataSheet() {
+        return properties.getProperty("dataSheet", "");
+    }
+
+    public String getDataFilter() {
+        return properties.getProperty("dataFilter", "");
+    }
+
+    public int getDataThreads() {
+        return Integer.parseInt(properties.getProperty("dataThreads", "2"));
+    }
+
+    // Embedded SauceDemo stub server settings
+    public boolean isStubServerEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("stubServer", "false"));
+    }
+
+    public int getStubPort() {
+        return Integer.parseInt(properties.getProperty("stubPort", "0"));
+    }
+
+    public int getStubCatalogSize() {
+        return Integer.parseInt(properties.getProperty("stubCatalogSize", "6"));
+    }
+
+    public long getStubCatalogSeed() {
+        return Long.parseLong(properties.getProperty("stubCatalogSeed", "42"));
+    }
+
+    public long getStubGlitchDelayMillis() {
+        return Long.parseLong(properties.getProperty("stubGlitchDelayMillis", "5000"));
+    }
+
+    // Scenario sharding settings
+    public int getShardIndex() {
+        return Integer.parseInt(properties.getProperty("shardIndex", "0"));
+    }
+
+    public int getShardCount() {
+        return Integer.parseInt(properties.getProperty("shardCount", "1"));
+    }
+
+    public String getShardTimingsFile() {
+        return properties.getProperty("shardTimingsFile", "src/test/resources/sharding/scenario-timings.properties");
+    }
+
+    public long getShardDefaultEstimateMillis() {
+        return Long.parseLong(properties.getProperty("shardDefaultEstimateMillis", "15000"));
+    }
+
+    public boolean isShardRecordTimings() {
+        return Boolean.parseBoolean(properties.getProperty("shardRecordTimings", "false"));
+    }
+
+    // Incremental execution (incremental.IncrementalSelection)
+    public boolean isIncrementalEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("incremental", "false"));
+    }
+
+    public String getIncrementalCacheFile() {
+        return properties.getProperty("incrementalCacheFile", ".cache/incremental-results.properties");
+    }
+
+    public int getIncrementalFullRunHours() {
+        return Integer.parseInt(properties.getProperty("incrementalFullRunHours", "24"));
+    }
+
+    public String getIncrementalCodePackages() {
+        return properties.getProperty("incrementalCodePackages", "stepdefinitions,pages,behaviour,base,hooks,session");
+    }
+
+    // In-run retry of failed scenarios (retry.ScenarioRetry, retry.FlakinessPlugin)
+    public int getRetryMaxAttempts() {
+        return Integer.parseInt(properties.getProperty("retryMaxAttempts", "1"));
+    }
+
+    public String getRetryTagPolicy() {
+        return properties.getProperty("retryTagPolicy", "");
+    }
+
+    public String getRetryHistoryFile() {
+        return properties.getProperty("retryHistoryFile", ".cache/scenario-flakiness.properties");
+    }
+
+    // Class-data-sharing archive for the test classpath (fork.CdsArchiveLauncher)
+    public String getCdsArchive() {
+        return properties.getProperty("cdsArchive", ".cache/cds/test-classpath.jsa");
+    }
+
+    public String getCdsTrainingTags() {
+        return properties.getProperty("cdsTrainingTags", "@required");
+    }
+
+    public int getCdsMeasureRuns() {
+        return Integer.parseInt(properties.getProperty("cdsMeasureRuns", "3"));
+    }
+
+    // Forked (multi-JVM) execution settings
+    public int getForkCount() {
+        return Integer.parseInt(properties.getProperty("forkCount", "2"));
+    }
+
+    // Browser matrix (fork.MatrixRunLauncher): "browser:forks,..."
+    public String getMatrixBrowsers() {
+        return properties.getProperty("matrixBrowsers", "chrome:2,firefox:2,edge:1");
+    }
+
+    // WebDriver command timing (instrumentation.StepTimingPlugin)
+    public boolean isCommandTimingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("commandTiming", "true"));
+    }
+
+    public String getCommandBudgetMode() {
+        return properties.getProperty("commandBudgetMode", "warn");
+    }
+
+    // Hung-command watchdog and session reaper (watchdog.CommandWatchdog)
+    public boolean isCommandWatchdogEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("commandWatchdog", "true"));
+    }
+
+    public int getCommandWatchdogSeconds() {
+        return Integer.parseInt(properties.getProperty("commandWatchdogSeconds", "45"));
+    }
+
+    // Performance regression gate (regression.RegressionGate)
+    public String getPerfGateMode() {
+        return properties.getProperty("perfGateMode", "warn");
+    }
+
+    public String getPerfHistoryFile() {
+        return properties.getProperty("perfHistoryFile", ".cache/perf-history.properties");
+    }
+
+    public int getPerfBaselineRuns() {
+        return Integer.parseInt(properties.getProperty("perfBaselineRuns", "10"));
+    }
+
+    public int getPerfMinBaselineRuns() {
+        return Integer.parseInt(properties.getProperty("perfMinBaselineRuns", "5"));
+    }
+
+    public double getPerfNoiseMads() {
+        return Double.parseDouble(properties.getProperty("perfNoiseMads", "3"));
+    }
+
+    public double getPerfMinRegressionPercent() {
+        return Double.parseDouble(properties.getProperty("perfMinRegressionPercent", "20"));
+    }
+
+    public double getPerfMinRegressionMillis() {
+        return Double.parseDouble(properties.getProperty("perfMinRegressionMillis", "50"));
+    }
+
+    // Binary trace recorder (trace.Trace)
+    public boolean isTraceEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("trace", "true"));
+    }
+
+    public String getTraceDir() {
+        return properties.getProperty("traceDir", "target/trace");
+    }
+
+    // Streaming HTML/JSON report (reporting.StreamingReportPlugin)
+    public String getReportDir() {
+        return properties.getProperty("reportDir", "target/report");
+    }
+
+    // Run metrics in OpenMetrics format (metrics.MetricsPlugin)
+    public boolean isMetricsEndpointEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("metricsEndpoint", "false"));
+    }
+
+    public int getMetricsPort() {
+        return Integer.parseInt(properties.getProperty("metricsPort", "9464"));
+    }
+
+    public String getMetricsFile() {
+        return properties.getProperty("metricsFile", "target/metrics.txt");
+    }
+
+    // Cached login state per user (session.SessionCache)
+    public boolean isSessionCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("sessionCache", "true"));
+    }
+
+    public int getSessionCacheTtlSeconds() {
+        return Integer.parseInt(properties.getProperty("sessionCacheTtlSeconds", "540"));
+    }
+
+    // Tag-based browser backend routing (base.BackendRouter)
+    public String getLightweightBrowser() {
+        return properties.getProperty("lightweightBrowser", "");
+    }
+
+    public String getFullBrowserTags() {
+        return properties.getProperty("fullBrowserTags", "@visual,@js");
+    }
+
+    public String getHeadlessShellBinary() {
+        return properties.getProperty("headlessShellBinary", "");
+    }
+
+    // One browser per worker with a fresh context per scenario (base.BrowserContexts)
+    public boolean isBrowserContextsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("browserContexts", "false"));
+    }
+
+    // Form filling in one script round trip (behaviour.ActionMethods.fillForm)
+    public boolean isBatchFormFillEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("batchFormFill", "true"));
+    }
+
+    // Network/console event ring per session, written for failed scenarios (instrumentation.BrowserEvents)
+    public boolean isBrowserEventsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("browserEvents", "true"));
+    }
+
+    public int getBrowserEventBufferKb() {
+        return Integer.parseInt(properties.getProperty("browserEventBufferKb", "256"));
+    }
 }
@@ -0,0 +1,116 @@
+package base;
+
+import configuration.ReadConfig;
+import metrics.FrameworkMetrics;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Chooses the browser backend per scenario from its tags. Scenarios tagged with one of
+ * fullBrowserTags (visual or JS-heavy checks) get the configured browser; all others run on
+ * lightweightBrowser, e.g. the in-process fake driver or chrome-headless-shell, which start
+ * faster and need far less memory per session. Routing is off while lightweightBrowser is empty
+ * (LIGHTWEIGHT_BROWSER overrides).
+ * <p>
+ * Launch time per backend is recorded by TestBase (saucedemo_driver_launch_seconds); this class
+ * adds the resident memory of each session's local driver/browser processes, sampled just
+ * before the session is quit (saucedemo_session_memory_bytes, Linux only).
+ */
+public final class BackendRouter {
+
+    private static final Logger logger = TestBase.logger;
+
+    /** Driver/browser processes started for the current thread's session. */
+    private record Session(String browser, Set<Long> processIds) {}
+
+    private static final ThreadLocal<Session> sessionThread = new ThreadLocal<>();
+
+    private BackendRouter() {}
+
+    /** Browser for a scenario with the given tags (e.g. "@visual"). */
+    public static String browserFor(Collection<String> tags) {
+        ReadConfig config = ReadConfig.getInstance();
+        String configured = TestBase.configuredBrowser();
+        String lightweight = System.getenv().getOrDefault("LIGHTWEIGHT_BROWSER", config.getLightweightBrowser()).trim().toLowerCase();
+        if (lightweight.isEmpty()) {
+            return configured;
+        }
+        Set<String> fullBrowserTags = Arrays.stream(config.getFullBrowserTags().split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toSet());
+        return tags.stream().anyMatch(fullBrowserTags::contains) ? configured : lightweight;
+    }
+
+    /**
+     * Starts the routed backend for the current thread and remembers its local processes,
+     * or opens a fresh context of the thread's browser when BrowserContexts is enabled.
+     */
+    public static void initializeDriver(Collection<String> tags) {
+        String browser = browserFor(tags);
+        logger.info("Scenario routed to browser backend: {}", browser);
+        if (BrowserContexts.isEnabled()) {
+            BrowserContexts.open(browser, TestBase.configuredHeadless());
+            return;
+        }
+
+        Set<Long> before = childProcesses();
+        TestBase.initializeDriver(browser);
+        Set<Long> started = childProcesses();
+        started.removeAll(before);
+        sessionThread.set(new Session(browser, started));
+    }
+
+    /** Ends the current thread's session: quits the driver, or closes its context when contexts are enabled. */
+    public static void releaseDriver() {
+        if (BrowserContexts.isEnabled()) {
+            BrowserContexts.close();
+            return;
+        }
+        sessionEnding();
+        TestBase.quitDriver();
+    }
+
+    /** Records the memory of the current thread's session before the driver is quit. */
+    private static void sessionEnding() {
+        Session session = sessionThread.get();
+        sessionThread.remove();
+        if (session == null || session.processIds().isEmpty()) {
+            // In-process or remote backend: no local processes to measure
+            return;
+        }
+        long bytes = session.processIds().stream()
+                .flatMap(pid -> ProcessHandle.of(pid).stream())
+                .flatMap(process -> Stream.concat(Stream.of(process), process.descendants()))
+                .mapToLong(process -> residentBytes(process.pid()))
+                .sum();
+        if (bytes > 0) {
+            FrameworkMetrics.sessionMemory(session.browser(), bytes);
+            logger.info("Session memory ({}): {} MB", session.browser(), bytes / (1024 * 1024));
+        }
+    }
+
+    private static Set<Long> childProcesses() {
+        return ProcessHandle.current().children().map(ProcessHandle::pid).collect(Collectors.toSet());
+    }
+
+    /** VmRSS of a process from /proc (0 where unavailable, e.g. not Linux). */
+    private static long residentBytes(long pid) {
+        try (Stream<String> lines = Files.lines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D+", "")) * 1024)
+                    .findFirst()
+                    .orElse(0);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+}
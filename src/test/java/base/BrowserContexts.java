@@ -0,0 +1,135 @@
+package base;
+
+import configuration.ReadConfig;
+import load.DriverPool;
+import metrics.FrameworkMetrics;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Scenario isolation without a browser launch per scenario (browserContexts=true, BROWSER_CONTEXTS).
+ * Each worker thread keeps one browser; for Chromium every scenario gets a fresh DevTools browser
+ * context (Target.createBrowserContext + Target.createTarget, whose target id is the new window's
+ * handle), disposed when the scenario ends, so cookies, storage and cache are never shared.
+ * Drivers without DevTools (Firefox, Safari, the fake driver) are reused with their cookies and
+ * web storage cleared instead.
+ */
+public final class BrowserContexts {
+
+    private static final Logger logger = TestBase.logger;
+
+    /** The browser kept by one worker thread and the context of its current scenario. */
+    private static final class Worker {
+        final String browser;
+        final WebDriver driver;
+        final String anchorHandle;
+        final Dimension windowSize;
+        String contextId;
+
+        Worker(String browser, WebDriver driver) {
+            this.browser = browser;
+            this.driver = driver;
+            this.anchorHandle = driver.getWindowHandle();
+            this.windowSize = driver.manage().window().getSize();
+        }
+    }
+
+    private static final ThreadLocal<Worker> workerThread = new ThreadLocal<>();
+    private static final List<Worker> workers = new CopyOnWriteArrayList<>();
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getenv()
+            .getOrDefault("BROWSER_CONTEXTS", String.valueOf(ReadConfig.getInstance().isBrowserContextsEnabled())));
+
+    private BrowserContexts() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Binds a fresh, isolated context of the given browser to the current thread. */
+    public static WebDriver open(String browser, boolean headless) {
+        Worker worker = workerThread.get();
+        if (worker != null && !workers.contains(worker)) {
+            // Quit by closeAll or a failed reset
+            worker = null;
+        } else if (worker != null && !worker.browser.equals(browser)) {
+            // The scenario was routed to another backend: this thread's browser is not reusable
+            quit(worker);
+            worker = null;
+        }
+        if (worker == null) {
+            worker = new Worker(browser, TestBase.createDriver(browser, headless));
+            workerThread.set(worker);
+            workers.add(worker);
+        }
+
+        if (worker.driver instanceof HasCdp cdp) {
+            long start = System.nanoTime();
+            worker.contextId = (String) cdp.executeCdpCommand("Target.createBrowserContext", Map.of())
+                    .get("browserContextId");
+            String targetId = (String) cdp.executeCdpCommand("Target.createTarget", Map.of(
+                    "url", "about:blank",
+                    "browserContextId", worker.contextId,
+                    "width", worker.windowSize.getWidth(),
+                    "height", worker.windowSize.getHeight())).get("targetId");
+            worker.driver.switchTo().window(targetId);
+            FrameworkMetrics.browserContextCreated(browser, System.nanoTime() - start);
+        }
+
+        TestBase.bindDriver(worker.driver);
+        return worker.driver;
+    }
+
+    /** Ends the current thread's scenario context; the browser stays up for the next scenario. */
+    public static void close() {
+        Worker worker = workerThread.get();
+        TestBase.unbindDriver();
+        if (worker == null) return;
+
+        try {
+            if (worker.driver instanceof HasCdp cdp && worker.contextId != null) {
+                cdp.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", worker.contextId));
+                worker.driver.switchTo().window(worker.anchorHandle);
+            } else {
+                worker.driver.manage().deleteAllCookies();
+                if (worker.driver instanceof JavascriptExecutor js) {
+                    js.executeScript(DriverPool.RESET_STORAGE_SCRIPT);
+                }
+            }
+            worker.contextId = null;
+        } catch (Exception e) {
+            // A browser that cannot be reset is not reused
+            logger.warn("Failed to reset browser context, the next scenario gets a new browser: {}", e.getMessage());
+            quit(worker);
+        }
+    }
+
+    /** Quits every worker browser (end of run). */
+    public static void closeAll() {
+        for (Worker worker : workers) {
+            quit(worker);
+        }
+        workerThread.remove();
+    }
+
+    private static void quit(Worker worker) {
+        if (!workers.remove(worker)) return;
+        if (workerThread.get() == worker) {
+            workerThread.remove();
+        }
+        try {
+            worker.driver.quit();
+        } catch (Exception e) {
+            logger.warn("Failed to quit worker browser: {}", e.getMessage());
+        } finally {
+            FrameworkMetrics.sessionClosed();
+        }
+    }
+}
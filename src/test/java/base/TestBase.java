@@ -2,7 +2,12 @@ package base;
 
 import configuration.LogDirectorySetup;
 import configuration.ReadConfig;
+import fake.AppPageSource;
+import fake.FakeWebDriver;
+import instrumentation.BrowserEvents;
+import instrumentation.CommandTimingListener;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import metrics.FrameworkMetrics;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -17,8 +22,10 @@ import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
+import trace.TracedWait;
 import utilities.LoggerUtil;
 import utilities.ScreenshotUtil;
+import watchdog.CommandWatchdog;
 
 import java.io.IOException;
 import java.net.URL;
@@ -30,11 +37,14 @@ public class TestBase {
 
     protected static final ThreadLocal<WebDriver> driverThread = new ThreadLocal<>();
     protected static final ThreadLocal<WebDriverWait> waitThread = new ThreadLocal<>();
+    protected static final ThreadLocal<ScreenshotUtil> screenshotThread = new ThreadLocal<>();
     public static final Logger logger = LoggerUtil.getLogger();
-    public static ScreenshotUtil screenshotUtil;
 
     protected static final ReadConfig config = ReadConfig.getInstance();
 
+    /** Application base URL override (e.g. the embedded stub server); null means config url. */
+    private static volatile String baseUrl;
+
     /**
      * Build ChromeOptions with anti-popup settings (password manager, leak detection UI, etc.)
      */
@@ -64,6 +74,28 @@ public class TestBase {
 
         options.setExperimentalOption("prefs", prefs);
 
+        // WebDriver BiDi for the network/console event capture (BrowserEvents)
+        if (BrowserEvents.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+
+        return options;
+    }
+
+    /**
+     * Lean Chrome for scenarios routed to the lightweight backend (no pixels or layout checks):
+     * the chrome-headless-shell binary when headlessShellBinary is set, otherwise old headless
+     * mode (the same shell, bundled with Chrome up to version 131); images are not loaded.
+     */
+    private static ChromeOptions buildHeadlessShellOptions() {
+        ChromeOptions options = buildChromeOptions(false);
+        String binary = config.getHeadlessShellBinary();
+        if (binary.isBlank()) {
+            options.addArguments("--headless=old");
+        } else {
+            options.setBinary(binary);
+        }
+        options.addArguments("--disable-gpu", "--disable-extensions", "--blink-settings=imagesEnabled=false");
         return options;
     }
 
@@ -72,6 +104,9 @@ public class TestBase {
         if (headless) {
             options.addArguments("-headless");
         }
+        if (BrowserEvents.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
         return options;
     }
 
@@ -84,13 +119,24 @@ public class TestBase {
             options.addArguments("--no-sandbox");
             options.addArguments("--disable-dev-shm-usage");
         }
+        if (BrowserEvents.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
         return options;
     }
 
     /**
-     * Initialize WebDriver for the current thread (Hooks calls this)
+     * Initialize WebDriver for the current thread with the configured browser
      */
     public static WebDriver initializeDriver() {
+        return initializeDriver(configuredBrowser());
+    }
+
+    /**
+     * Initialize WebDriver for the current thread with the given browser (Hooks calls this
+     * with the backend chosen by BackendRouter)
+     */
+    public static WebDriver initializeDriver(String browser) {
         if (driverThread.get() != null) {
             logger.info("WebDriver already initialized for this thread.");
             return driverThread.get();
@@ -99,11 +145,33 @@ public class TestBase {
         // Ensure log directory exists
         LogDirectorySetup.createLogDirectory();
 
-        String browser = System.getenv().getOrDefault("BROWSER", config.getBrowser()).toLowerCase();
-        boolean headless = Boolean.parseBoolean(
-                System.getenv().getOrDefault("HEADLESS", String.valueOf(config.isHeadless()))
-        );
+        WebDriver driver = createDriver(browser, configuredHeadless());
+        bindDriver(driver);
+
+        logger.info("WebDriver initialized successfully for thread.");
+        return driver;
+    }
+
+    /**
+     * Browser from BROWSER or the browser config key, lower-cased
+     */
+    public static String configuredBrowser() {
+        return System.getenv().getOrDefault("BROWSER", config.getBrowser()).toLowerCase();
+    }
+
+    /**
+     * Headless flag from HEADLESS or the headless config key
+     */
+    public static boolean configuredHeadless() {
+        return Boolean.parseBoolean(System.getenv().getOrDefault("HEADLESS", String.valueOf(config.isHeadless())));
+    }
 
+    /**
+     * Creates and configures (window size, timeouts) a new WebDriver session without
+     * attaching it to the current thread. Used directly by callers that manage their own
+     * sessions, such as the load-test driver pool.
+     */
+    public static WebDriver createDriver(String browser, boolean headless) {
         String windowSize = config.getWindowSize();
         boolean useRemote = Boolean.parseBoolean(System.getenv().getOrDefault("USE_REMOTE_DRIVER", "false"));
 
@@ -111,6 +179,7 @@ public class TestBase {
         logger.info("Using Remote WebDriver: {}", useRemote);
 
         WebDriver driver;
+        long launchStart = System.nanoTime();
 
         try {
             if (useRemote) {
@@ -131,6 +200,11 @@ public class TestBase {
                         driver = new RemoteWebDriver(remoteUrl, chromeOptions);
                         break;
                     }
+                    case "chrome-headless-shell": {
+                        // headlessShellBinary must then be a path on the grid node
+                        driver = new RemoteWebDriver(remoteUrl, buildHeadlessShellOptions());
+                        break;
+                    }
                     case "firefox": {
                         FirefoxOptions firefoxOptions = buildFirefoxOptions(headless);
                         driver = new RemoteWebDriver(remoteUrl, firefoxOptions);
@@ -163,6 +237,11 @@ public class TestBase {
                         driver = new ChromeDriver(buildChromeOptions(headless));
                         break;
                     }
+                    case "chrome-headless-shell": {
+                        WebDriverManager.chromedriver().setup();
+                        driver = new ChromeDriver(buildHeadlessShellOptions());
+                        break;
+                    }
                     case "firefox": {
                         WebDriverManager.firefoxdriver().setup();
                         driver = new FirefoxDriver(buildFirefoxOptions(headless));
@@ -183,11 +262,25 @@ public class TestBase {
                         driver = new SafariDriver(new SafariOptions());
                         break;
                     }
+                    case "fake": {
+                        // In-memory DOM driver serving the SauceDemo replica in-process (no browser)
+                        driver = new FakeWebDriver(AppPageSource.fromConfig());
+                        break;
+                    }
                     default:
                         throw new RuntimeException("Unsupported browser: " + browser);
                 }
             }
 
+            // Abort commands that hang and quarantine their session (CommandWatchdog), and time every
+            // command and attribute it to the running Cucumber step (StepTimingPlugin)
+            driver = config.isCommandTimingEnabled()
+                    ? CommandWatchdog.guard(driver, browser, CommandTimingListener.get())
+                    : CommandWatchdog.guard(driver, browser);
+
+            // Recent network/console events, kept in memory and written only for failed scenarios
+            BrowserEvents.attach(driver);
+
             // Window sizing
             if (windowSize.equalsIgnoreCase("maximize")) {
                 driver.manage().window().maximize();
@@ -202,24 +295,36 @@ public class TestBase {
             // Timeouts
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(config.getExplicitWait()));
-
-            // Store in ThreadLocal
-            driverThread.set(driver);
-            waitThread.set(wait);
-
-            // Screenshot util (per thread)
-            screenshotUtil = new ScreenshotUtil(driver, logger);
-
-            logger.info("WebDriver initialized successfully for thread.");
         } catch (Exception e) {
+            FrameworkMetrics.driverLaunchFailed(browser);
             logger.error("Failed to initialize WebDriver: {}", e.getMessage(), e);
             throw new RuntimeException(e);
         }
 
+        FrameworkMetrics.driverLaunched(browser, System.nanoTime() - launchStart);
         return driver;
     }
 
+    /**
+     * Attach an existing WebDriver session to the current thread so that the page objects
+     * and behaviour helpers (which resolve the driver through getDriver/getWait) use it.
+     */
+    public static void bindDriver(WebDriver driver) {
+        driverThread.set(driver);
+        waitThread.set(new TracedWait(driver, Duration.ofSeconds(config.getExplicitWait())));
+        screenshotThread.set(new ScreenshotUtil(driver, logger));
+    }
+
+    /**
+     * Detach the current thread's WebDriver session WITHOUT quitting it
+     * (the owner of the session, e.g. a driver pool, decides its lifecycle).
+     */
+    public static void unbindDriver() {
+        driverThread.remove();
+        waitThread.remove();
+        screenshotThread.remove();
+    }
+
     /**
      * Get WebDriver for current thread
      */
@@ -251,17 +356,36 @@ public class TestBase {
             try {
                 driver.quit();
             } finally {
+                FrameworkMetrics.sessionClosed();
                 driverThread.remove();
                 waitThread.remove();
+                screenshotThread.remove();
                 logger.info("WebDriver quit successfully for thread.");
             }
         }
     }
 
     /**
-     * Capture screenshot using ScreenshotUtil
+     * Base URL of the application under test: the embedded stub server when it is running,
+     * otherwise the configured url.
+     */
+    public static String getBaseUrl() {
+        String override = baseUrl;
+        return override != null ? override : config.getUrl();
+    }
+
+    /**
+     * Override the application base URL for all threads; null restores the configured url.
+     */
+    public static void setBaseUrl(String url) {
+        baseUrl = url;
+    }
+
+    /**
+     * Capture screenshot using the current thread's ScreenshotUtil
      */
     public static void captureScreen(String testName) throws IOException {
+        ScreenshotUtil screenshotUtil = screenshotThread.get();
         if (screenshotUtil != null) {
             screenshotUtil.captureScreenshot(testName);
         } else {
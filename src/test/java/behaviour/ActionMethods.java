@@ -1,18 +1,59 @@
 package behaviour;
 
 import base.TestBase;
+import configuration.ReadConfig;
 import io.cucumber.java.Scenario;
+import metrics.FrameworkMetrics;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
+import trace.TracedWait;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ActionMethods extends TestBase {
 
     public static final ActionMethods getInstance = new ActionMethods();
 
+    /**
+     * Script used by fillForm.
+     * arguments[0]: [strategy, selector, value] per field, arguments[1]: [strategy, selector] of the submit control.
+     * Changes nothing and returns 'field:N' / 'submit' until every target is visible; otherwise sets each value
+     * through the native setter (so React-style controlled inputs see it), fires input/change, clicks submit
+     * and returns 'submitted'.
+     */
+    private static final String FILL_FORM_SCRIPT =
+            "function find(l) { switch (l[0]) {"
+                    + " case 'id': return document.getElementById(l[1]);"
+                    + " case 'name': return document.getElementsByName(l[1])[0] || null;"
+                    + " case 'class name': return document.getElementsByClassName(l[1])[0] || null;"
+                    + " case 'tag name': return document.getElementsByTagName(l[1])[0] || null;"
+                    + " case 'css selector': return document.querySelector(l[1]);"
+                    + " case 'xpath': return document.evaluate(l[1], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+                    + " default: return null; } }"
+                    + " function shown(e) { return !!e && e.getClientRects().length > 0 && getComputedStyle(e).visibility !== 'hidden'; }"
+                    + " var fields = arguments[0], targets = [];"
+                    + " for (var i = 0; i < fields.length; i++) { var e = find(fields[i]); if (!shown(e)) return 'field:' + i; targets.push(e); }"
+                    + " var submit = find(arguments[1]); if (!shown(submit) || submit.disabled) return 'submit';"
+                    + " for (var j = 0; j < targets.length; j++) { var t = targets[j];"
+                    + " Object.getOwnPropertyDescriptor(Object.getPrototypeOf(t), 'value').set.call(t, fields[j][2]);"
+                    + " t.dispatchEvent(new Event('input', { bubbles: true }));"
+                    + " t.dispatchEvent(new Event('change', { bubbles: true })); }"
+                    + " submit.click(); return 'submitted';";
+
+    /** Locator strategies FILL_FORM_SCRIPT can resolve in the page. */
+    private static final Set<String> SCRIPT_STRATEGIES =
+            Set.of("id", "name", "class name", "tag name", "css selector", "xpath");
+
+    private static final boolean BATCH_FORM_FILL = Boolean.parseBoolean(System.getenv()
+            .getOrDefault("BATCH_FORM_FILL", String.valueOf(ReadConfig.getInstance().isBatchFormFillEnabled())));
+
     private static Scenario scenario;
 
     private ActionMethods() {}
@@ -55,6 +96,77 @@ public class ActionMethods extends TestBase {
         }
     }
 
+    /* ------------------ FILL FORM ------------------ */
+
+    public void fillForm(Map<By, String> fields, By submitLocator) {
+        fillForm(fields, Set.of(), submitLocator);
+    }
+
+    /**
+     * Fills the fields (in map order) and submits the form in a single script round trip,
+     * instead of a wait, clear and sendKeys per field plus a click. Fields listed in typedFields
+     * (or whose value contains Keys), locators the script cannot resolve and batchFormFill=false
+     * use enterText first; a submit control the script cannot resolve falls back to enterText/click throughout.
+     */
+    public void fillForm(Map<By, String> fields, Set<By> typedFields, By submitLocator) {
+        if (!BATCH_FORM_FILL || !(getDriver() instanceof JavascriptExecutor) || scriptLocator(submitLocator) == null) {
+            fields.forEach(this::enterText);
+            click(submitLocator);
+            return;
+        }
+
+        Map<By, String> scripted = new LinkedHashMap<>();
+        fields.forEach((locator, value) -> {
+            if (typedFields.contains(locator) || needsKeystrokes(value) || scriptLocator(locator) == null) {
+                enterText(locator, value);
+            } else {
+                scripted.put(locator, value);
+            }
+        });
+
+        List<By> locators = new ArrayList<>(scripted.keySet());
+        List<List<String>> arguments = new ArrayList<>();
+        scripted.forEach((locator, value) -> {
+            List<String> field = new ArrayList<>(scriptLocator(locator));
+            field.add(value);
+            arguments.add(field);
+        });
+
+        String[] outcome = {"not run"};
+        try {
+            getWait().until(TracedWait.labelled("form " + locators + " submitted", driver -> {
+                outcome[0] = String.valueOf(((JavascriptExecutor) driver)
+                        .executeScript(FILL_FORM_SCRIPT, arguments, scriptLocator(submitLocator)));
+                return outcome[0].equals("submitted");
+            }));
+
+            scripted.forEach((locator, value) -> log("Entered text '" + value + "' into " + locator));
+            log("Clicked on element " + submitLocator);
+
+        } catch (Exception e) {
+            String pending = outcome[0].startsWith("field:")
+                    ? locators.get(Integer.parseInt(outcome[0].substring(6))).toString()
+                    : outcome[0].equals("submit") ? submitLocator.toString() : outcome[0];
+            handleError("Failed to fill form " + locators + " (waiting for " + pending + ")", e);
+        }
+    }
+
+    /** [strategy, selector] for FILL_FORM_SCRIPT, or null when the script cannot resolve the locator. */
+    private static List<String> scriptLocator(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if (SCRIPT_STRATEGIES.contains(parameters.using())) {
+                return List.of(parameters.using(), String.valueOf(parameters.value()));
+            }
+        }
+        return null;
+    }
+
+    /** Keys constants (ENTER, TAB, ...) live in the private use area and need real key events. */
+    private static boolean needsKeystrokes(String value) {
+        return value.chars().anyMatch(c -> c >= Keys.NULL.charAt(0) && c <= '\uF8FF');
+    }
+
     /* ------------------ IS DISPLAYED ------------------ */
 
     public boolean isDisplayed(By locator) {
@@ -66,6 +178,7 @@ public class ActionMethods extends TestBase {
             return element.isDisplayed();
 
         } catch (TimeoutException e) {
+            FrameworkMetrics.waitTimedOut("ActionMethods");
             log("Element NOT displayed: " + locator);
             return false;
         }
@@ -115,6 +228,9 @@ public class ActionMethods extends TestBase {
 
     private void handleError(String message, Exception e) {
         String fullMessage = message + " | Error: " + e.getMessage();
+        if (e instanceof TimeoutException) {
+            FrameworkMetrics.waitTimedOut("ActionMethods");
+        }
 
         logger.error(fullMessage);
         if (scenario != null) {
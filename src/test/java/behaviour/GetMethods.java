@@ -2,15 +2,23 @@ package behaviour;
 
 import base.TestBase;
 import io.cucumber.java.Scenario;
+import metrics.FrameworkMetrics;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import trace.TracedWait;
+
+import java.util.Map;
 
 public class GetMethods extends TestBase {
 
     public static final GetMethods getInstance = new GetMethods();
 
+    /** Script used by getTextByJS. */
+    private static final String TEXT_CONTENT_SCRIPT = "return arguments[0].textContent;";
+
     private static Scenario scenario;
 
     private GetMethods() {}
@@ -49,9 +57,10 @@ public class GetMethods extends TestBase {
             WebElement element = getWait()
                     .until(ExpectedConditions.presenceOfElementLocated(locator));
 
-            JavascriptExecutor js = (JavascriptExecutor) getDriver();
-            String value = (String) js.executeScript(
-                    "return arguments[0].textContent;", element);
+            // Drivers without JavaScript (the fake driver) read the same DOM property
+            String value = getDriver() instanceof JavascriptExecutor js
+                    ? (String) js.executeScript(TEXT_CONTENT_SCRIPT, element)
+                    : element.getDomProperty("textContent");
 
             if (value != null && !value.trim().isEmpty()) {
                 log("Retrieved value for '" + label + "': " + value.trim());
@@ -67,6 +76,29 @@ public class GetMethods extends TestBase {
         }
     }
 
+    /* ------------------ PAGE SNAPSHOT ------------------ */
+
+    /**
+     * Runs a snapshot script until it returns an object (scripts return null while the page is not ready)
+     * and returns its fields, so several assertions cost one round trip and see the same page state.
+     * Returns an empty map when the page never became ready.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getSnapshot(String label, String script) {
+        try {
+            Map<String, Object> snapshot = (Map<String, Object>) getWait()
+                    .until(TracedWait.labelled(label + " snapshot script",
+                            driver -> ((JavascriptExecutor) driver).executeScript(script)));
+
+            log("Retrieved " + label + " snapshot: " + snapshot);
+            return snapshot;
+
+        } catch (Exception e) {
+            handleError("Failed to retrieve " + label + " snapshot", e);
+            return Map.of();
+        }
+    }
+
     /* ------------------ LOGGING HELPERS ------------------ */
 
     private void log(String message) {
@@ -78,6 +110,9 @@ public class GetMethods extends TestBase {
 
     private void handleError(String message, Exception e) {
         String fullMessage = message + " | Error: " + e.getMessage();
+        if (e instanceof TimeoutException) {
+            FrameworkMetrics.waitTimedOut("GetMethods");
+        }
         logger.error(fullMessage);
         if (scenario != null) {
             scenario.log(fullMessage);
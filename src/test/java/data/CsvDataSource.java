@@ -0,0 +1,117 @@
+package data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * CSV (RFC 4180: comma separated, double-quoted fields may contain commas, quotes as "" and
+ * line breaks) read record by record through a BufferedReader. Blank lines are skipped.
+ */
+public class CsvDataSource implements DataSource {
+
+    private final BufferedReader reader;
+    private final List<String> columns;
+    private long rowNumber;
+    private List<String> next;
+
+    public CsvDataSource(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        List<String> header = readRecord();
+        if (header == null) {
+            reader.close();
+            throw new IOException("CSV file has no header row: " + file);
+        }
+        if (!header.isEmpty() && header.getFirst().startsWith("\uFEFF")) {
+            // UTF-8 byte order mark written by spreadsheet exports
+            header.set(0, header.getFirst().substring(1));
+        }
+        this.columns = header.stream().map(String::trim).toList();
+        this.next = readRecord();
+    }
+
+    @Override
+    public List<String> columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public DataRow next() {
+        if (next == null) throw new NoSuchElementException();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            values.put(columns.get(i), i < next.size() ? next.get(i) : "");
+        }
+        DataRow row = new DataRow(++rowNumber, values);
+        try {
+            next = readRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /** Next non-blank record, or null at end of file. */
+    private List<String> readRecord() throws IOException {
+        while (true) {
+            String line = reader.readLine();
+            if (line == null) return null;
+            if (line.isBlank()) continue;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) break;
+                    // Quoted field continues on the next line
+                    String continuation = reader.readLine();
+                    if (continuation == null) throw new IOException("Unterminated quoted CSV field: " + field);
+                    field.append('\n');
+                    line = continuation;
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package data;
+
+import base.TestBase;
+import load.DriverPool;
+import load.LatencyRecorder;
+import load.SauceDemoJourney;
+import metrics.FrameworkMetrics;
+import metrics.MetricsServer;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import server.SauceDemoStubServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs the SauceDemo journey once per row of a CSV/XLSX data file (username, password and an
+ * optional product column), e.g. tens of thousands of users x products generated by a spreadsheet.
+ * <p>
+ * Rows are streamed (DataSources) and handed to a fixed set of workers through a bounded hand-off,
+ * so at most a few rows are in memory at any time and heap use does not grow with the file; results
+ * go to HdrHistogram latencies and a streamed failure list. Rows with a product use the seeded-cart
+ * journey (cached login, cart seeded with the product), the others the full UI journey.
+ * Sessions come from a DriverPool of {@code threads} browsers; SHARD_INDEX/SHARD_COUNT split the rows
+ * across CI nodes or forks. Run with:
+ * <pre>
+ *     mvn -Pdata test-compile exec:java
+ * </pre>
+ */
+public class DataDrivenRunner {
+
+    static final Logger logger = TestBase.logger;
+
+    private static final Path REPORT_PATH = Path.of("target", "data-run-report.txt");
+    private static final Path FAILURES_PATH = Path.of("target", "data-run-failures.csv");
+
+    private final DataRunSettings settings;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicLong passedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+
+    public DataDrivenRunner(DataRunSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataRunSettings settings = DataRunSettings.fromConfig();
+        SauceDemoStubServer.startIfEnabled();
+        MetricsServer.startIfEnabled();
+        String report;
+        try {
+            report = new DataDrivenRunner(settings).run();
+        } finally {
+            SauceDemoStubServer.stopShared();
+            MetricsServer.stop();
+            FrameworkMetrics.dump(FrameworkMetrics.defaultFile());
+        }
+
+        System.out.println(report);
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report);
+    }
+
+    /**
+     * Executes one journey per selected row and returns the formatted report.
+     */
+    public String run() throws IOException, InterruptedException {
+        String browser = TestBase.configuredBrowser();
+        logger.info("Starting data-driven run: {}", settings);
+        long start = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.threads());
+        // Bounds the rows read ahead of the workers: the reader blocks instead of queueing the file
+        Semaphore inFlight = new Semaphore(settings.threads() * 2);
+
+        Files.createDirectories(FAILURES_PATH.getParent());
+        try (DriverPool pool = new DriverPool(settings.threads(), () -> TestBase.createDriver(browser, true));
+             BufferedWriter failures = Files.newBufferedWriter(FAILURES_PATH, StandardCharsets.UTF_8);
+             Stream<DataRow> rows = DataSources.stream(settings.file(), settings.sheet(),
+                     DataSources.filter(settings.filter()), settings.shardIndex(), settings.shardCount())) {
+            failures.write("row,values\n");
+            rows.forEach(row -> {
+                inFlight.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        runRow(row, pool, failures);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            });
+            workers.shutdown();
+            if (!workers.awaitTermination(1, TimeUnit.DAYS)) {
+                logger.error("Data-driven run did not finish");
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        return report(System.nanoTime() - start);
+    }
+
+    private void runRow(DataRow row, DriverPool pool, BufferedWriter failures) {
+        String username = row.get("username");
+        String password = row.get("password");
+        String product = row.getOrDefault("product", null);
+        SauceDemoJourney journey = product == null
+                ? new SauceDemoJourney(username, password)
+                : SauceDemoJourney.withSeededCart(username, password, product);
+
+        boolean passed = false;
+        try {
+            WebDriver driver = pool.acquire();
+            try {
+                TestBase.bindDriver(driver);
+                passed = journey.run(recorder);
+            } finally {
+                TestBase.unbindDriver();
+                pool.release(driver, passed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Data row {} could not run: {}", row.number(), e.getMessage());
+        }
+
+        if (passed) {
+            passedRows.incrementAndGet();
+            return;
+        }
+        failedRows.incrementAndGet();
+        synchronized (failures) {
+            try {
+                failures.write(row.number() + ",\"" + row.values().toString().replace("\"", "\"\"") + "\"\n");
+            } catch (IOException e) {
+                logger.warn("Failed to record failed data row {}: {}", row.number(), e.getMessage());
+            }
+        }
+    }
+
+    private String report(long elapsedNanos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("==================== DATA-DRIVEN RUN REPORT ====================\n");
+        sb.append("Data: %s | filter: '%s' | shard %d of %d | workers: %d%n".formatted(
+                settings.file(), settings.filter(), settings.shardIndex(), settings.shardCount(), settings.threads()));
+        sb.append("Elapsed: %.1fs | rows passed: %d | failed: %d (see %s)%n".formatted(
+                elapsedNanos / 1_000_000_000.0, passedRows.get(), failedRows.get(), FAILURES_PATH));
+        sb.append('\n');
+        recorder.appendTable(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package data;
+
+import java.util.Map;
+
+/**
+ * One data row keyed by the header row's column names; {@code number} is the 1-based data row
+ * number (the header is row 0), stable across filtering and sharding.
+ */
+public record DataRow(long number, Map<String, String> values) {
+
+    /** Value of a required column. */
+    public String get(String column) {
+        String value = values.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException("Data row " + number + " has no column '" + column + "': " + values);
+        }
+        return value;
+    }
+
+    /** Value of an optional column; blank cells count as missing. */
+    public String getOrDefault(String column, String defaultValue) {
+        String value = values.get(column);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,32 @@
+package data;
+
+import configuration.ReadConfig;
+import sharding.ShardSettings;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of a data-driven run, from config.properties with environment overrides
+ * (DATA_FILE, DATA_SHEET, DATA_FILTER, DATA_THREADS); the shard comes from SHARD_INDEX/SHARD_COUNT.
+ *
+ * @param file       CSV or XLSX file with a header row (username, password, optional product)
+ * @param sheet      XLSX sheet name; blank for the first sheet
+ * @param filter     row filter expression, see DataSources.filter
+ * @param threads    concurrent workers (and browser sessions)
+ * @param shardIndex this worker's shard of the rows (0-based)
+ * @param shardCount number of shards the rows are split into
+ */
+public record DataRunSettings(Path file, String sheet, String filter, int threads, int shardIndex, int shardCount) {
+
+    public static DataRunSettings fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        ShardSettings shard = ShardSettings.fromConfig();
+        return new DataRunSettings(
+                Path.of(System.getenv().getOrDefault("DATA_FILE", config.getDataFile())),
+                System.getenv().getOrDefault("DATA_SHEET", config.getDataSheet()),
+                System.getenv().getOrDefault("DATA_FILTER", config.getDataFilter()),
+                Integer.parseInt(System.getenv().getOrDefault("DATA_THREADS", String.valueOf(config.getDataThreads()))),
+                shard.index(),
+                shard.count());
+    }
+}
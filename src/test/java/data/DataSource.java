@@ -0,0 +1,16 @@
+package data;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Forward-only, lazily read table of test data. Rows are parsed as they are requested, so only
+ * the current row is held in memory whatever the size of the file. Read errors surface as
+ * UncheckedIOException.
+ */
+public interface DataSource extends Iterator<DataRow>, Closeable {
+
+    /** Column names from the header row, in file order. */
+    List<String> columns();
+}
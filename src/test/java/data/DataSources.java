@@ -0,0 +1,83 @@
+package data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Opens CSV/XLSX test data as lazy row streams, with the row filter and shard hooks used to split
+ * large datasets across parallel workers (CI nodes or forks: shard i of n takes the rows whose
+ * number is i modulo n, so every row runs exactly once whatever the filter).
+ */
+public final class DataSources {
+
+    private DataSources() {}
+
+    /** Opens a .csv or .xlsx file; {@code sheetName} selects the XLSX sheet (null or blank: the first). */
+    public static DataSource open(Path file, String sheetName) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CsvDataSource(file);
+        }
+        if (name.endsWith(".xlsx")) {
+            return new XlsxDataSource(file, sheetName);
+        }
+        throw new IllegalArgumentException("Unsupported data file (expected .csv or .xlsx): " + file);
+    }
+
+    /**
+     * Rows of the file that belong to the shard and pass the filter, read lazily; close the
+     * stream (try-with-resources) to close the file.
+     */
+    public static Stream<DataRow> stream(Path file, String sheetName, Predicate<DataRow> filter,
+                                         int shardIndex, int shardCount) throws IOException {
+        DataSource source = open(file, sheetName);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(source, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        source.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .filter(shard(shardIndex, shardCount))
+                .filter(filter);
+    }
+
+    /** Rows of shard {@code index} (0-based) of {@code count}. */
+    public static Predicate<DataRow> shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        return row -> count == 1 || row.number() % count == index;
+    }
+
+    /**
+     * Filter from an expression of ';'-separated conditions that must all hold:
+     * {@code column=value} or {@code column!=value}; blank matches every row.
+     * Example: {@code username!=locked_out_user;product=Sauce Labs Onesie}
+     */
+    public static Predicate<DataRow> filter(String expression) {
+        Predicate<DataRow> filter = row -> true;
+        if (expression == null) return filter;
+        for (String condition : expression.split(";")) {
+            if (condition.isBlank()) continue;
+            boolean negated = condition.contains("!=");
+            String[] parts = condition.split(negated ? "!=" : "=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid data filter condition (column=value or column!=value): " + condition);
+            }
+            String column = parts[0].trim();
+            String value = parts[1].trim();
+            Predicate<DataRow> matches = row -> value.equals(row.getOrDefault(column, ""));
+            filter = filter.and(negated ? matches.negate() : matches);
+        }
+        return filter;
+    }
+}
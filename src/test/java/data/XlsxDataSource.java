@@ -0,0 +1,196 @@
+package data;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * XLSX sheet read row by row without a workbook object model: POI's event API (XSSFReader)
+ * opens the sheet part as a stream straight from the zip, and the sheet XML is pulled one
+ * &lt;row&gt; at a time with StAX. Only the shared-strings table (distinct cell texts) is held in
+ * memory; cell values are returned as stored (numbers unformatted, booleans as true/false).
+ */
+public class XlsxDataSource implements DataSource {
+
+    private final OPCPackage workbook;
+    private final InputStream sheet;
+    private final XMLStreamReader xml;
+    private final ReadOnlySharedStringsTable strings;
+    private final List<String> columns;
+    private long rowNumber;
+    private List<String> next;
+
+    /** Opens the named sheet, or the first sheet when {@code sheetName} is null or blank. */
+    public XlsxDataSource(Path file, String sheetName) throws IOException {
+        try {
+            this.workbook = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Not an XLSX workbook: " + file, e);
+        }
+        try {
+            this.strings = new ReadOnlySharedStringsTable(workbook);
+            this.sheet = openSheet(new XSSFReader(workbook), sheetName, file);
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            this.xml = factory.createXMLStreamReader(sheet);
+
+            List<String> header = readRow();
+            if (header == null) {
+                throw new IOException("Sheet has no header row: " + file);
+            }
+            this.columns = header.stream().map(String::trim).toList();
+            this.next = readRow();
+        } catch (IOException | RuntimeException e) {
+            workbook.revert();
+            throw e;
+        } catch (OpenXML4JException | SAXException | XMLStreamException e) {
+            workbook.revert();
+            throw new IOException("Failed to read XLSX workbook " + file, e);
+        }
+    }
+
+    @Override
+    public List<String> columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public DataRow next() {
+        if (next == null) throw new NoSuchElementException();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            values.put(columns.get(i), i < next.size() ? next.get(i) : "");
+        }
+        DataRow row = new DataRow(++rowNumber, values);
+        try {
+            next = readRow();
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Failed to read XLSX row after data row " + rowNumber, e));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            sheet.close();
+            // Opened read-only: revert closes the package without writing anything back
+            workbook.revert();
+        }
+    }
+
+    private static InputStream openSheet(XSSFReader reader, String sheetName, Path file)
+            throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            if (sheetName == null || sheetName.isBlank() || sheets.getSheetName().equals(sheetName)) {
+                return stream;
+            }
+            stream.close();
+        }
+        throw new IOException("No sheet '" + sheetName + "' in " + file);
+    }
+
+    /** Cell values of the next non-empty &lt;row&gt; (indexed by column letter), or null at the end of the sheet. */
+    private List<String> readRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("row")) {
+                List<String> cells = readCells();
+                if (cells.stream().anyMatch(cell -> !cell.isEmpty())) {
+                    return cells;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<String> readCells() throws XMLStreamException {
+        List<String> cells = new ArrayList<>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("row")) {
+                return cells;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("c")) {
+                String reference = xml.getAttributeValue(null, "r");
+                String type = xml.getAttributeValue(null, "t");
+                int column = reference == null ? cells.size() : columnIndex(reference);
+                String value = readCell(type);
+                while (cells.size() <= column) cells.add("");
+                cells.set(column, value);
+            }
+        }
+        return cells;
+    }
+
+    /** Value of the current &lt;c&gt; element; leaves the reader on its end tag. */
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        StringBuilder inline = new StringBuilder();
+        String element = null;
+        boolean inInlineString = false;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                element = xml.getLocalName();
+                if (element.equals("is")) inInlineString = true;
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (inInlineString && "t".equals(element)) {
+                    inline.append(xml.getText());
+                } else if ("v".equals(element)) {
+                    value.append(xml.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = xml.getLocalName();
+                if (name.equals("c")) break;
+                if (name.equals("is")) inInlineString = false;
+                element = null;
+            }
+        }
+
+        if (type == null) return value.toString();
+        return switch (type) {
+            case "s" -> value.isEmpty() ? "" : strings.getItemAt(Integer.parseInt(value.toString())).getString();
+            case "inlineStr" -> inline.toString();
+            case "b" -> "1".contentEquals(value) ? "true" : "false";
+            default -> value.toString();
+        };
+    }
+
+    /** Zero-based column of a cell reference such as "AB12". */
+    static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length() && Character.isLetter(reference.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(reference.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
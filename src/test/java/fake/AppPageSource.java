@@ -0,0 +1,41 @@
+package fake;
+
+import configuration.ReadConfig;
+import server.Catalog;
+import server.SauceDemoApp;
+import server.SauceDemoStubServer;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * PageSource that renders pages with the embedded SauceDemo replica in-process,
+ * skipping HTTP entirely. Only the path and query of the URL are used, so the fake
+ * driver works with both the public base URL and the stub server's URL.
+ */
+public class AppPageSource implements PageSource {
+
+    private final SauceDemoApp app;
+
+    public AppPageSource(SauceDemoApp app) {
+        this.app = app;
+    }
+
+    /** Replica configured like the stub server (catalog size/seed, glitch delay). */
+    public static AppPageSource fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        int catalogSize = Integer.parseInt(
+                System.getenv().getOrDefault("STUB_CATALOG_SIZE", String.valueOf(config.getStubCatalogSize())));
+        return new AppPageSource(new SauceDemoApp(
+                Catalog.ofSize(catalogSize, config.getStubCatalogSeed()),
+                config.getStubGlitchDelayMillis()));
+    }
+
+    @Override
+    public Response fetch(String method, URI url, Map<String, String> form, Map<String, String> cookies) {
+        String path = url.getPath() == null || url.getPath().isEmpty() ? "/" : url.getPath();
+        SauceDemoApp.Response response = app.handle(new SauceDemoApp.Request(
+                method, path, SauceDemoStubServer.parseParameters(url.getRawQuery()), form, cookies));
+        return new Response(response.status(), response.body(), response.location(), response.setCookies());
+    }
+}
@@ -0,0 +1,68 @@
+package fake;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates Selenium locators into jsoup lookups on the in-memory DOM.
+ * Supports every W3C / legacy strategy: id, name, class name, tag name,
+ * css selector, xpath, link text and partial link text.
+ */
+final class FakeLocators {
+
+    private FakeLocators() {}
+
+    /** Elements below {@code root} (the root itself is excluded, like WebElement.findElements). */
+    static List<Element> find(Element root, By by) {
+        if (!(by instanceof By.Remotable remotable)) {
+            throw new InvalidSelectorException("Unsupported locator for fake driver: " + by);
+        }
+
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+
+        Elements found;
+        try {
+            found = switch (parameters.using()) {
+                case "id" -> root.getElementsByAttributeValue("id", value);
+                case "name" -> root.getElementsByAttributeValue("name", value);
+                case "class name" -> root.getElementsByClass(value);
+                case "tag name" -> root.getElementsByTag(value);
+                case "css selector" -> root.select(value);
+                case "xpath" -> root.selectXpath(value);
+                case "link text" -> links(root, value, false);
+                case "partial link text" -> links(root, value, true);
+                default -> throw new InvalidSelectorException("Unsupported locator strategy: " + parameters.using());
+            };
+        } catch (InvalidSelectorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidSelectorException("Invalid selector " + by + ": " + e.getMessage(), e);
+        }
+
+        List<Element> result = new ArrayList<>(found.size());
+        for (Element element : found) {
+            if (element != root || root instanceof Document) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    private static Elements links(Element root, String text, boolean partial) {
+        Elements links = new Elements();
+        for (Element anchor : root.getElementsByTag("a")) {
+            String linkText = anchor.text().trim();
+            if (partial ? linkText.contains(text) : linkText.equals(text)) {
+                links.add(anchor);
+            }
+        }
+        return links;
+    }
+}
@@ -0,0 +1,465 @@
+package fake;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.logging.Logs;
+import pages.AppState;
+import server.ReplicaCartStore;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory WebDriver: pages come from a PageSource, are parsed into a jsoup DOM and queried
+ * with the real Selenium locators. Supports navigation (links, form submission, redirects,
+ * history), cookies, visibility rules and element staleness, which is everything the page
+ * objects need. There is no layout and no JS engine, so it is not a JavascriptExecutor: the
+ * framework's script-backed paths (batch form filling, page snapshots, web storage) take their
+ * WebDriver fallbacks, and the scripts themselves are not covered by fake runs.
+ * <p>
+ * Selected with browser=fake (BROWSER=fake); a page-object round trip costs microseconds
+ * instead of a browser command, so the step/page layers can be exercised offline at scale.
+ */
+public class FakeWebDriver implements WebDriver, TakesScreenshot {
+
+    /** 1x1 transparent PNG returned for every screenshot. */
+    private static final String BLANK_PNG_BASE64 =
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    private static final String WINDOW_HANDLE = "fake-window-1";
+    private static final int MAX_REDIRECTS = 10;
+
+    static {
+        // Fake pages come from the replica, which reads the cart from its cookie
+        AppState.registerCartStore(new ReplicaCartStore(driver ->
+                (driver instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : driver) instanceof FakeWebDriver));
+    }
+
+    private final PageSource source;
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final List<String> history = new ArrayList<>();
+    private final FakeOptions options = new FakeOptions();
+
+    private int historyIndex = -1;
+    private Document document = Jsoup.parse("<html><head></head><body></body></html>", "about:blank");
+    private String currentUrl = "about:blank";
+    private long documentVersion;
+    private boolean closed;
+
+    public FakeWebDriver(PageSource source) {
+        this.source = source;
+    }
+
+    // ----------------------- Navigation -----------------------
+
+    @Override
+    public void get(String url) {
+        ensureOpen();
+        load("GET", URI.create(url), Map.of());
+        pushHistory();
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        ensureOpen();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        ensureOpen();
+        return document.title();
+    }
+
+    @Override
+    public String getPageSource() {
+        ensureOpen();
+        return document.outerHtml();
+    }
+
+    /**
+     * Requests a page (following redirects and applying Set-Cookie) and replaces the DOM.
+     * Existing FakeWebElements become stale, just like after a real navigation.
+     */
+    void load(String method, URI url, Map<String, String> form) {
+        URI target = url;
+        String requestMethod = method;
+        Map<String, String> requestForm = form;
+
+        for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+            PageSource.Response response = source.fetch(requestMethod, target, requestForm, cookieValues());
+            response.setCookies().forEach((name, value) -> {
+                if (value == null) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, new Cookie(name, value, "/"));
+                }
+            });
+
+            if (response.isRedirect()) {
+                target = target.resolve(response.location());
+                requestMethod = "GET";
+                requestForm = Map.of();
+                continue;
+            }
+
+            currentUrl = target.toString();
+            document = Jsoup.parse(response.body(), currentUrl);
+            documentVersion++;
+            return;
+        }
+        throw new WebDriverException("Too many redirects loading " + url);
+    }
+
+    /** Navigation triggered from the page (link click, form submit). */
+    void navigateFromPage(String method, String href, Map<String, String> form) {
+        load(method, URI.create(currentUrl).resolve(href), form);
+        pushHistory();
+    }
+
+    private void pushHistory() {
+        while (history.size() > historyIndex + 1) {
+            history.removeLast();
+        }
+        history.add(currentUrl);
+        historyIndex = history.size() - 1;
+    }
+
+    @Override
+    public Navigation navigate() {
+        ensureOpen();
+        return new Navigation() {
+            @Override
+            public void back() {
+                if (historyIndex > 0) {
+                    historyIndex--;
+                    load("GET", URI.create(history.get(historyIndex)), Map.of());
+                }
+            }
+
+            @Override
+            public void forward() {
+                if (historyIndex < history.size() - 1) {
+                    historyIndex++;
+                    load("GET", URI.create(history.get(historyIndex)), Map.of());
+                }
+            }
+
+            @Override
+            public void to(String url) {
+                get(url);
+            }
+
+            @Override
+            public void to(URL url) {
+                get(url.toString());
+            }
+
+            @Override
+            public void refresh() {
+                load("GET", URI.create(currentUrl), Map.of());
+            }
+        };
+    }
+
+    // ----------------------- Element lookup -----------------------
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        ensureOpen();
+        List<WebElement> elements = new ArrayList<>();
+        for (Element element : FakeLocators.find(document, by)) {
+            elements.add(new FakeWebElement(this, element, documentVersion));
+        }
+        return elements;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> elements = findElements(by);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Fake driver found no element using " + by + " on " + currentUrl);
+        }
+        return elements.getFirst();
+    }
+
+    // ----------------------- Screenshots -----------------------
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        ensureOpen();
+        return target.convertFromBase64Png(BLANK_PNG_BASE64);
+    }
+
+    // ----------------------- Session -----------------------
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        closed = true;
+        cookies.clear();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        ensureOpen();
+        return Set.of(WINDOW_HANDLE);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        ensureOpen();
+        return WINDOW_HANDLE;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        ensureOpen();
+        return new TargetLocator() {
+            @Override
+            public WebDriver frame(int index) {
+                throw new UnsupportedCommandException("Frames are not supported by the fake driver");
+            }
+
+            @Override
+            public WebDriver frame(String nameOrId) {
+                throw new UnsupportedCommandException("Frames are not supported by the fake driver");
+            }
+
+            @Override
+            public WebDriver frame(WebElement frameElement) {
+                throw new UnsupportedCommandException("Frames are not supported by the fake driver");
+            }
+
+            @Override
+            public WebDriver parentFrame() {
+                return FakeWebDriver.this;
+            }
+
+            @Override
+            public WebDriver window(String nameOrHandle) {
+                if (!WINDOW_HANDLE.equals(nameOrHandle)) {
+                    throw new NoSuchWindowException("Fake driver has a single window: " + nameOrHandle);
+                }
+                return FakeWebDriver.this;
+            }
+
+            @Override
+            public WebDriver newWindow(WindowType typeHint) {
+                throw new UnsupportedCommandException("New windows are not supported by the fake driver");
+            }
+
+            @Override
+            public WebDriver defaultContent() {
+                return FakeWebDriver.this;
+            }
+
+            @Override
+            public WebElement activeElement() {
+                return new FakeWebElement(FakeWebDriver.this, document.body(), documentVersion);
+            }
+
+            @Override
+            public Alert alert() {
+                throw new UnsupportedCommandException("Alerts are not supported by the fake driver");
+            }
+        };
+    }
+
+    @Override
+    public Options manage() {
+        ensureOpen();
+        return options;
+    }
+
+    // ----------------------- State used by FakeWebElement -----------------------
+
+    long documentVersion() {
+        return documentVersion;
+    }
+
+    void ensureOpen() {
+        if (closed) {
+            throw new NoSuchSessionException("Fake driver session has been quit");
+        }
+    }
+
+    private Map<String, String> cookieValues() {
+        Map<String, String> values = new HashMap<>();
+        cookies.forEach((name, cookie) -> values.put(name, cookie.getValue()));
+        return values;
+    }
+
+    // ----------------------- Options -----------------------
+
+    private class FakeOptions implements Options {
+
+        private Duration implicitWait = Duration.ZERO;
+        private Duration scriptTimeout = Duration.ofSeconds(30);
+        private Duration pageLoadTimeout = Duration.ofSeconds(300);
+        private Dimension size = new Dimension(1920, 1080);
+        private Point position = new Point(0, 0);
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            cookies.remove(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return new LinkedHashSet<>(cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new Timeouts() {
+                @Override
+                @SuppressWarnings("deprecation")
+                public Timeouts implicitlyWait(long time, TimeUnit unit) {
+                    return implicitlyWait(Duration.ofMillis(unit.toMillis(time)));
+                }
+
+                @Override
+                public Timeouts implicitlyWait(Duration duration) {
+                    // Stored for getImplicitWaitTimeout only: the in-memory DOM never changes on its own
+                    implicitWait = duration;
+                    return this;
+                }
+
+                @Override
+                public Duration getImplicitWaitTimeout() {
+                    return implicitWait;
+                }
+
+                @Override
+                @SuppressWarnings("deprecation")
+                public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+                    scriptTimeout = Duration.ofMillis(unit.toMillis(time));
+                    return this;
+                }
+
+                @Override
+                public Timeouts scriptTimeout(Duration duration) {
+                    scriptTimeout = duration;
+                    return this;
+                }
+
+                @Override
+                public Duration getScriptTimeout() {
+                    return scriptTimeout;
+                }
+
+                @Override
+                @SuppressWarnings("deprecation")
+                public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+                    return pageLoadTimeout(Duration.ofMillis(unit.toMillis(time)));
+                }
+
+                @Override
+                public Timeouts pageLoadTimeout(Duration duration) {
+                    pageLoadTimeout = duration;
+                    return this;
+                }
+
+                @Override
+                public Duration getPageLoadTimeout() {
+                    return pageLoadTimeout;
+                }
+            };
+        }
+
+        @Override
+        public Window window() {
+            return new Window() {
+                @Override
+                public Dimension getSize() {
+                    return size;
+                }
+
+                @Override
+                public void setSize(Dimension targetSize) {
+                    size = targetSize;
+                }
+
+                @Override
+                public Point getPosition() {
+                    return position;
+                }
+
+                @Override
+                public void setPosition(Point targetPosition) {
+                    position = targetPosition;
+                }
+
+                @Override
+                public void maximize() {
+                    size = new Dimension(1920, 1080);
+                }
+
+                @Override
+                public void minimize() {
+                }
+
+                @Override
+                public void fullscreen() {
+                    maximize();
+                }
+            };
+        }
+
+        @Override
+        public Logs logs() {
+            throw new UnsupportedCommandException("Logs are not supported by the fake driver");
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package fake;
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * WebElement over a jsoup Element of the FakeWebDriver's current document.
+ * Elements go stale when the driver loads another page, exactly like a real browser.
+ */
+public class FakeWebElement implements WebElement {
+
+    private static final char PRIVATE_USE_AREA_END = '\uF8FF';
+
+    private static final Set<String> NON_RENDERED_TAGS = Set.of("head", "script", "style", "title", "meta", "link", "template");
+
+    private final FakeWebDriver driver;
+    private final Element element;
+    private final long documentVersion;
+
+    FakeWebElement(FakeWebDriver driver, Element element, long documentVersion) {
+        this.driver = driver;
+        this.element = element;
+        this.documentVersion = documentVersion;
+    }
+
+    // ----------------------- Interactions -----------------------
+
+    @Override
+    public void click() {
+        ensureInteractable();
+
+        // Clicks bubble to the nearest link or submit control, e.g. the item name <div> inside an <a>
+        for (Element current = element; current != null; current = current.parent()) {
+            String tag = current.tagName();
+            if (tag.equals("a") && current.hasAttr("href")) {
+                driver.navigateFromPage("GET", current.attr("href"), Map.of());
+                return;
+            }
+            if (isSubmitControl(current)) {
+                Element form = current.closest("form");
+                if (form != null) {
+                    submitForm(form, current);
+                }
+                return;
+            }
+            if (tag.equals("input") && "checkbox".equalsIgnoreCase(current.attr("type"))) {
+                if (current.hasAttr("checked")) current.removeAttr("checked"); else current.attr("checked", "");
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void submit() {
+        ensureFresh();
+        Element form = element.tagName().equals("form") ? element : element.closest("form");
+        if (form == null) {
+            throw new UnsupportedCommandException("Element is not inside a form: " + describe());
+        }
+        submitForm(form, null);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        ensureInteractable();
+        StringBuilder typed = new StringBuilder(element.attr("value"));
+        boolean enter = false;
+
+        for (CharSequence sequence : keysToSend) {
+            for (int i = 0; i < sequence.length(); i++) {
+                char c = sequence.charAt(i);
+                if (c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0)) {
+                    enter = true;
+                } else if (c == Keys.BACK_SPACE.charAt(0)) {
+                    if (!typed.isEmpty()) typed.setLength(typed.length() - 1);
+                } else if (c < Keys.NULL.charAt(0) || c > PRIVATE_USE_AREA_END) {
+                    // Regular character; other Keys constants (private use area) are ignored
+                    typed.append(c);
+                }
+            }
+        }
+
+        setValue(typed.toString());
+        if (enter) {
+            Element form = element.closest("form");
+            if (form != null) submitForm(form, null);
+        }
+    }
+
+    @Override
+    public void clear() {
+        ensureInteractable();
+        setValue("");
+    }
+
+    private void setValue(String value) {
+        ensureFresh();
+        if (element.tagName().equals("textarea")) {
+            element.text(value);
+        } else {
+            element.attr("value", value);
+        }
+    }
+
+    // ----------------------- Reads -----------------------
+
+    @Override
+    public String getTagName() {
+        ensureFresh();
+        return element.tagName();
+    }
+
+    @Override
+    public String getText() {
+        ensureFresh();
+        return isDisplayed() ? element.text() : "";
+    }
+
+    /** DOM textContent (includes hidden descendants, unlike getText). */
+    private String textContent() {
+        ensureFresh();
+        return element.wholeText();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        ensureFresh();
+        return switch (name) {
+            case "innerText" -> getText();
+            case "textContent" -> textContent();
+            case "value" -> value();
+            case "checked", "selected", "disabled", "hidden" -> element.hasAttr(name) ? "true" : null;
+            default -> element.hasAttr(name) ? element.attr(name) : null;
+        };
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        ensureFresh();
+        return element.hasAttr(name) ? element.attr(name) : null;
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        ensureFresh();
+        return element.hasAttr("checked") || element.hasAttr("selected");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        ensureFresh();
+        return !element.hasAttr("disabled");
+    }
+
+    /**
+     * Approximates rendering: hidden when the element or an ancestor is non-rendered
+     * (head/script/...), has the hidden attribute, an inline display:none / visibility:hidden,
+     * or is an input of type hidden.
+     */
+    @Override
+    public boolean isDisplayed() {
+        ensureFresh();
+        if (element.tagName().equals("input") && "hidden".equalsIgnoreCase(element.attr("type"))) {
+            return false;
+        }
+        for (Element current = element; current != null; current = current.parent()) {
+            if (NON_RENDERED_TAGS.contains(current.tagName()) || current.hasAttr("hidden")) {
+                return false;
+            }
+            String style = current.attr("style").replace(" ", "").toLowerCase(Locale.ROOT);
+            if (style.contains("display:none") || style.contains("visibility:hidden")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        ensureFresh();
+        List<WebElement> elements = new ArrayList<>();
+        for (Element found : FakeLocators.find(element, by)) {
+            elements.add(new FakeWebElement(driver, found, documentVersion));
+        }
+        return elements;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> elements = findElements(by);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Fake driver found no element using " + by + " under " + describe());
+        }
+        return elements.getFirst();
+    }
+
+    // No layout engine: geometry is reported as a fixed, non-empty box
+    @Override
+    public Point getLocation() {
+        ensureFresh();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        ensureFresh();
+        return isDisplayed() ? new Dimension(100, 20) : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        ensureFresh();
+        for (String declaration : element.attr("style").split(";")) {
+            int colon = declaration.indexOf(':');
+            if (colon > 0 && declaration.substring(0, colon).trim().equalsIgnoreCase(propertyName)) {
+                return declaration.substring(colon + 1).trim();
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return driver.getScreenshotAs(target);
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebElement[" + describe() + "]";
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    private String value() {
+        return element.tagName().equals("textarea") ? element.text() : element.attr("value");
+    }
+
+    private void submitForm(Element form, Element submitter) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (Element control : form.select("input[name], textarea[name], select[name]")) {
+            String type = control.attr("type").toLowerCase(Locale.ROOT);
+            if (type.equals("submit") || type.equals("button") || type.equals("image") || control.hasAttr("disabled")) {
+                continue;
+            }
+            if ((type.equals("checkbox") || type.equals("radio")) && !control.hasAttr("checked")) {
+                continue;
+            }
+            if (control.tagName().equals("select")) {
+                Element selected = control.selectFirst("option[selected]");
+                if (selected == null) selected = control.selectFirst("option");
+                fields.put(control.attr("name"), selected == null ? "" : selected.attr("value"));
+            } else if (control.tagName().equals("textarea")) {
+                fields.put(control.attr("name"), control.text());
+            } else {
+                fields.put(control.attr("name"), control.attr("value"));
+            }
+        }
+        if (submitter != null && submitter.hasAttr("name")) {
+            fields.put(submitter.attr("name"), submitter.attr("value"));
+        }
+
+        String method = form.attr("method").isEmpty() ? "GET" : form.attr("method").toUpperCase(Locale.ROOT);
+        String action = form.attr("action").isEmpty() ? driver.getCurrentUrl() : form.attr("action");
+
+        if (method.equals("GET")) {
+            StringBuilder query = new StringBuilder();
+            fields.forEach((name, value) -> query.append(query.isEmpty() ? "?" : "&")
+                    .append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8)));
+            driver.navigateFromPage("GET", action.split("\\?")[0] + query, Map.of());
+        } else {
+            driver.navigateFromPage("POST", action, fields);
+        }
+    }
+
+    private static boolean isSubmitControl(Element element) {
+        String type = element.attr("type").toLowerCase(Locale.ROOT);
+        return switch (element.tagName()) {
+            case "button" -> type.isEmpty() || type.equals("submit");
+            case "input" -> type.equals("submit") || type.equals("image");
+            default -> false;
+        };
+    }
+
+    private void ensureFresh() {
+        driver.ensureOpen();
+        if (driver.documentVersion() != documentVersion) {
+            throw new StaleElementReferenceException("Element is no longer attached to the DOM: " + describe());
+        }
+    }
+
+    private void ensureInteractable() {
+        ensureFresh();
+        if (!isDisplayed()) {
+            throw new ElementNotInteractableException("Element is not displayed: " + describe());
+        }
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder(element.tagName());
+        if (element.hasAttr("id")) description.append('#').append(element.id());
+        for (String cls : element.classNames()) description.append('.').append(cls);
+        return description.toString();
+    }
+}
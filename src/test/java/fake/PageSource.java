@@ -0,0 +1,30 @@
+package fake;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Supplies HTML to FakeWebDriver for a URL, the way a web server would:
+ * the fake driver handles redirects, cookies and DOM parsing itself.
+ */
+public interface PageSource {
+
+    /**
+     * Result of a fetch. {@code setCookies} values of null delete the cookie;
+     * {@code location} is set for redirects.
+     */
+    record Response(int status, String body, String location, Map<String, String> setCookies) {
+
+        public boolean isRedirect() {
+            return status >= 300 && status < 400 && location != null;
+        }
+    }
+
+    /**
+     * @param method  GET or POST
+     * @param url     absolute URL being requested
+     * @param form    decoded form fields for POST, empty for GET
+     * @param cookies cookies currently held by the fake browser
+     */
+    Response fetch(String method, URI url, Map<String, String> form, Map<String, String> cookies);
+}
@@ -0,0 +1,112 @@
+package fork;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the class-data-sharing (AppCDS) archive for the test classpath and reports what it saves
+ * (run with: mvn -Pcds test). A training JVM runs the cdsTrainingTags scenarios through ForkSuite
+ * with -XX:ArchiveClassesAtExit, so every class loaded on the way to and through a scenario
+ * (Cucumber, TestNG, Selenium, logback, ...) is archived. Then cdsMeasureRuns JVMs each are
+ * started without and with the archive, and their JVM-start-to-first-scenario times
+ * (instrumentation.StartupTimingPlugin) go to target/cds/startup-report.txt. All of them use the
+ * CdsClasspath form of the test classpath.
+ * Once it exists, forked and matrix runs start their JVMs with it, and surefire (with the opt-in
+ * cds-archive profile) keeps an archive of its own classpath next to it.
+ */
+public final class CdsArchiveLauncher {
+
+    private static final Logger logger = TestBase.logger;
+
+    private static final Path OUTPUT = Path.of("target", "cds");
+
+    private CdsArchiveLauncher() {}
+
+    public static void main(String[] args) throws Exception {
+        ReadConfig config = ReadConfig.getInstance();
+        Path archive = CdsClasspath.archive();
+        String tags = System.getenv().getOrDefault("CDS_TRAINING_TAGS", config.getCdsTrainingTags());
+        int measureRuns = Integer.parseInt(System.getenv().getOrDefault("CDS_MEASURE_RUNS",
+                String.valueOf(config.getCdsMeasureRuns())));
+
+        ForkedRunLauncher.deleteRecursively(OUTPUT);
+        CdsClasspath.prepare();
+        Files.createDirectories(archive.getParent());
+        Files.deleteIfExists(archive);
+
+        logger.info("Training run for the CDS archive {} (scenarios: {})", archive, tags);
+        long trainingMillis = run(OUTPUT.resolve("training"), "-XX:ArchiveClassesAtExit=" + archive, tags);
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("The training run did not create " + archive
+                    + "; see " + OUTPUT.resolve("training").resolve("console.log"));
+        }
+
+        List<Long> without = new ArrayList<>();
+        List<Long> with = new ArrayList<>();
+        for (int i = 0; i < measureRuns; i++) {
+            without.add(run(OUTPUT.resolve("default-" + i), null, tags));
+            with.add(run(OUTPUT.resolve("archive-" + i), "-XX:SharedArchiveFile=" + archive, tags));
+        }
+
+        StringBuilder report = new StringBuilder()
+                .append("JVM start to first scenario (ms), scenarios ").append(tags).append('\n')
+                .append(String.format("%-22s %8s %8s   %s%n", "", "median", "min", "runs"))
+                .append(String.format("%-22s %8d %8d   %s%n", "JDK default archive", median(without), min(without), without))
+                .append(String.format("%-22s %8d %8d   %s%n", "test classpath archive", median(with), min(with), with))
+                .append(String.format("Saved: %d ms per JVM (%.0f%%)%n", median(without) - median(with),
+                        100.0 * (median(without) - median(with)) / Math.max(1, median(without))))
+                .append(String.format("Archive: %s (%d KB), training run: %d ms to first scenario%n",
+                        archive, Files.size(archive) / 1024, trainingMillis));
+        logger.info("CDS startup report:\n{}", report);
+        Files.writeString(OUTPUT.resolve("startup-report.txt"), report);
+    }
+
+    /** Runs the scenarios in a fresh JVM and returns its start-to-first-scenario milliseconds. */
+    private static long run(Path directory, String cdsOption, String tags) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        Path startup = directory.resolve("startup-millis.txt").toAbsolutePath();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (cdsOption != null) {
+            command.add(cdsOption);
+        }
+        command.addAll(List.of(
+                "-cp", CdsClasspath.of(System.getProperty("java.class.path")),
+                "-Dcucumber.filter.tags=" + tags,
+                "-Dcucumber.plugin=instrumentation.StartupTimingPlugin:" + startup,
+                "-DLOG_DIR=" + directory.resolve("logs"),
+                "org.testng.TestNG",
+                "-d", directory.resolve("testng").toString(),
+                "-testclass", ForkSuite.class.getName()));
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("console.log").toFile())
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            // Scenario failures do not invalidate the startup measurement
+            logger.warn("{} exited with {}; see {}", directory, exitCode, directory.resolve("console.log"));
+        }
+        if (!Files.exists(startup)) {
+            throw new IllegalStateException("No scenario started in " + directory + "; see " + directory.resolve("console.log"));
+        }
+        return Long.parseLong(Files.readString(startup).trim());
+    }
+
+    private static long median(List<Long> values) {
+        return values.stream().sorted().toList().get(values.size() / 2);
+    }
+
+    private static long min(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+}
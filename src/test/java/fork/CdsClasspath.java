@@ -0,0 +1,115 @@
+package fork;
+
+import configuration.ReadConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The classpath the CDS archive is built for and used with. The JVM refuses to archive classes
+ * when a non-empty directory is on the classpath, so the project's target/test-classes and
+ * target/classes are packed into target/cds-classpath/project-classes.jar and their place on the
+ * classpath is taken by an empty directory (the cds-archive profile points surefire's class
+ * directories there too). An archive also records the jar's size and modification time, so the
+ * jar is only rewritten when a class or resource changed, with a modification time derived from
+ * its content; after a change the archive no longer matches and the JVM starts without it.
+ * <p>
+ * Run as a main class (process-test-classes) to refresh the jar.
+ */
+public final class CdsClasspath {
+
+    static final Path DIRECTORY = Path.of("target", "cds-classpath").toAbsolutePath();
+    static final Path PROJECT_JAR = DIRECTORY.resolve("project-classes.jar");
+    static final Path EMPTY = DIRECTORY.resolve("empty");
+
+    private static final List<Path> CLASS_DIRECTORIES = List.of(
+            Path.of("target", "test-classes").toAbsolutePath(),
+            Path.of("target", "classes").toAbsolutePath());
+
+    // Fixed entry times: the same classes always give the same jar bytes
+    private static final FileTime ENTRY_TIME = FileTime.fromMillis(0);
+
+    private CdsClasspath() {}
+
+    public static void main(String[] args) throws IOException {
+        prepare();
+    }
+
+    /** Writes the project jar when its content changed and creates the empty directory. */
+    static void prepare() throws IOException {
+        Files.createDirectories(EMPTY);
+        byte[] jar = projectJar();
+        if (Files.exists(PROJECT_JAR) && Arrays.equals(Files.readAllBytes(PROJECT_JAR), jar)) return;
+        Files.write(PROJECT_JAR, jar);
+        // A time derived from the content: a clean rebuild of the same classes still matches the archives
+        CRC32 crc = new CRC32();
+        crc.update(jar);
+        Files.setLastModifiedTime(PROJECT_JAR, FileTime.fromMillis(crc.getValue() % 1_000_000_000L * 1000));
+    }
+
+    /** The trained archive (cdsArchive, CDS_ARCHIVE). */
+    static Path archive() {
+        return Path.of(System.getenv().getOrDefault("CDS_ARCHIVE", ReadConfig.getInstance().getCdsArchive())).toAbsolutePath();
+    }
+
+    /**
+     * JVM options for a fork running on {@code classpath}: the classpath itself, and once the
+     * archive has been trained, its CDS form with the archive mapped (silently skipped when stale).
+     */
+    static List<String> forkOptions(String classpath) throws IOException {
+        if (!Files.exists(archive())) return List.of("-cp", classpath);
+        prepare();
+        return List.of("-XX:SharedArchiveFile=" + archive(), "-Xshare:auto", "-Xlog:cds=off", "-Xlog:cds+dynamic=off",
+                "-cp", of(classpath));
+    }
+
+    /** The given classpath with the class directories replaced by the empty directory and the project jar appended. */
+    static String of(String classpath) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            entries.add(CLASS_DIRECTORIES.contains(Path.of(entry).toAbsolutePath()) ? EMPTY.toString() : entry);
+        }
+        entries.add(PROJECT_JAR.toString());
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static byte[] projectJar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Set<String> written = new HashSet<>();
+        try (JarOutputStream jar = new JarOutputStream(bytes)) {
+            // Test classes first: like on the directory classpath, they win over same-named main resources
+            for (Path root : CLASS_DIRECTORIES) {
+                if (!Files.isDirectory(root)) continue;
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(root)) {
+                    files = walk.filter(file -> !file.equals(root)).sorted().toList();
+                }
+                for (Path file : files) {
+                    // Directory entries too: Cucumber finds glue packages with ClassLoader.getResources
+                    boolean directory = Files.isDirectory(file);
+                    String name = root.relativize(file).toString().replace(File.separatorChar, '/') + (directory ? "/" : "");
+                    if (!written.add(name)) continue;
+                    JarEntry entry = new JarEntry(name);
+                    entry.setLastModifiedTime(ENTRY_TIME);
+                    jar.putNextEntry(entry);
+                    if (!directory) jar.write(Files.readAllBytes(file));
+                    jar.closeEntry();
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
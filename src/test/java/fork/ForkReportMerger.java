@@ -0,0 +1,250 @@
+package fork;
+
+import fork.ForkedRunLauncher.ForkResult;
+import instrumentation.StepTimingPlugin;
+import org.openqa.selenium.json.Json;
+import regression.RegressionGate;
+import sharding.ScenarioTimings;
+import sharding.ShardSettings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static fork.ForkedRunLauncher.logger;
+
+/**
+ * Post-run merge of the forks' output:
+ * <ul>
+ *   <li>target/cucumber-forked.json – one Cucumber JSON report (features merged by uri,
+ *       scenarios ordered by line) for CI report plugins</li>
+ *   <li>target/fork-summary.txt – per-fork wall time and per-scenario status/duration</li>
+ *   <li>target/step-timings.txt – the forks' step timings as one table; the regression gate
+ *       (regression.RegressionGate) then runs once on the forks' merged samples and writes
+ *       target/perf-regressions.txt</li>
+ * </ul>
+ * With shardRecordTimings enabled the scenario durations are also written to the timings file,
+ * once, so the next run's fork split uses them.
+ * <p>
+ * A scenario retried in-run (retry.ScenarioRetry) has one report element per attempt; the summary
+ * shows it once, with the status and duration of its last attempt, as "flaky" when that passed.
+ * <p>
+ * Browser-matrix forks are merged into one feature per uri and browser, named "Feature [browser]",
+ * with every scenario tagged @browser-&lt;name&gt;; their durations are not recorded (they differ per browser).
+ * Their step timings and regression report are per browser, in target/matrix/&lt;browser&gt;.
+ */
+final class ForkReportMerger {
+
+    static final Path MERGED_REPORT = Path.of("target", "cucumber-forked.json");
+    static final Path SUMMARY = Path.of("target", "fork-summary.txt");
+
+    /** One scenario row of the summary: the last attempt of the scenario in its fork. */
+    private record ScenarioRow(String fork, String key, String name, String status, long millis, int attempts) {
+
+        /** This row followed by a later attempt of the same scenario. */
+        ScenarioRow retriedAs(ScenarioRow next) {
+            String outcome = next.status().equals("passed") ? "flaky" : next.status();
+            return new ScenarioRow(fork, key, name, outcome, next.millis(), attempts + 1);
+        }
+
+        boolean passed() {
+            return status.equals("passed") || status.equals("flaky");
+        }
+    }
+
+    private ForkReportMerger() {}
+
+    /** Merges the fork reports; returns true when every fork exited cleanly and no scenario failed. */
+    static boolean merge(List<ForkResult> forks) throws IOException {
+        return merge(forks, MERGED_REPORT, SUMMARY);
+    }
+
+    static boolean merge(List<ForkResult> forks, Path mergedReport, Path summaryFile) throws IOException {
+        Json json = new Json();
+        Map<String, Map<String, Object>> featuresByUri = new LinkedHashMap<>();
+        Map<String, ScenarioRow> rowsByScenario = new LinkedHashMap<>();
+
+        for (ForkResult fork : forks) {
+            Path report = fork.directory().resolve("cucumber.json");
+            if (!Files.exists(report)) {
+                logger.error("Fork {} produced no report at {} (see {})", fork.label(), report,
+                        fork.directory().resolve("console.log"));
+                continue;
+            }
+
+            List<Map<String, Object>> features;
+            try (Reader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+                features = json.toType(reader, Json.LIST_OF_MAPS_TYPE);
+            }
+
+            for (Map<String, Object> feature : features) {
+                String uri = (String) feature.get("uri");
+                String key = fork.browser() == null ? uri : uri + "#" + fork.browser();
+                Map<String, Object> merged = featuresByUri.computeIfAbsent(key, ignored -> {
+                    Map<String, Object> copy = new LinkedHashMap<>(feature);
+                    copy.put("elements", new ArrayList<Map<String, Object>>());
+                    if (fork.browser() != null) {
+                        copy.put("id", feature.get("id") + ";" + fork.browser());
+                        copy.put("name", feature.get("name") + " [" + fork.browser() + "]");
+                    }
+                    return copy;
+                });
+                List<Map<String, Object>> elements = elements(feature);
+                if (fork.browser() != null) {
+                    elements.forEach(element -> tagWithBrowser(element, fork.browser()));
+                }
+                elements(merged).addAll(elements);
+
+                for (Map<String, Object> element : elements) {
+                    if (!"scenario".equals(element.get("type"))) continue;
+                    int line = ((Number) element.get("line")).intValue();
+                    ScenarioRow attempt = new ScenarioRow(fork.label(), ScenarioTimings.keyOf(URI.create(uri), line),
+                            (String) element.get("name"), status(element), durationMillis(element), 1);
+                    // Attempts are reported in the order they ran
+                    rowsByScenario.merge(attempt.fork() + " " + attempt.key(), attempt, ScenarioRow::retriedAs);
+                }
+            }
+        }
+
+        for (Map<String, Object> feature : featuresByUri.values()) {
+            elements(feature).sort(Comparator.comparingInt(element -> ((Number) element.get("line")).intValue()));
+        }
+        Files.createDirectories(mergedReport.getParent());
+        Files.writeString(mergedReport, json.toJson(new ArrayList<>(featuresByUri.values())), StandardCharsets.UTF_8);
+
+        List<ScenarioRow> rows = new ArrayList<>(rowsByScenario.values());
+        String summary = summary(forks, rows);
+        Files.writeString(summaryFile, summary, StandardCharsets.UTF_8);
+        logger.warn("\n{}", summary);
+        logger.warn("Merged report: {}, summary: {}", mergedReport.toAbsolutePath(), summaryFile.toAbsolutePath());
+
+        if (forks.stream().allMatch(fork -> fork.browser() == null)) {
+            recordTimings(rows);
+        }
+        boolean performanceOk = mergePerformance(forks, mergedReport.getParent());
+
+        boolean forksOk = forks.stream().allMatch(fork -> fork.exitCode() == 0);
+        boolean scenariosOk = rows.stream().allMatch(ScenarioRow::passed);
+        return forksOk && scenariosOk && performanceOk;
+    }
+
+    /**
+     * Merges the step timings and runs the regression gate on the forks' samples: once for a forked
+     * run, into {@code directory}, and per browser for a matrix run, next to that browser's forks.
+     * Returns false when the gate failed the run (perfGateMode=fail).
+     */
+    private static boolean mergePerformance(List<ForkResult> forks, Path directory) {
+        Map<Path, List<ForkResult>> byOutput = new LinkedHashMap<>();
+        for (ForkResult fork : forks) {
+            Path output = fork.browser() == null ? directory : fork.directory().getParent();
+            byOutput.computeIfAbsent(output, ignored -> new ArrayList<>()).add(fork);
+        }
+
+        boolean passed = true;
+        for (Map.Entry<Path, List<ForkResult>> output : byOutput.entrySet()) {
+            List<ForkResult> outputForks = output.getValue();
+            StepTimingPlugin.merge(outputForks.stream().map(fork -> fork.directory().resolve(StepTimingPlugin.DATA_FILE)).toList(),
+                    output.getKey().resolve("step-timings.txt"));
+            try {
+                RegressionGate.evaluateForks(outputForks.stream()
+                        .map(fork -> fork.directory().resolve(ForkedRunLauncher.PERF_SAMPLES_FILE)).toList(), output.getKey());
+            } catch (AssertionError e) {
+                logger.error("{}", e.getMessage());
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> elements(Map<String, Object> feature) {
+        Object elements = feature.get("elements");
+        if (elements == null) {
+            elements = new ArrayList<Map<String, Object>>();
+            feature.put("elements", elements);
+        }
+        return (List<Map<String, Object>>) elements;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void tagWithBrowser(Map<String, Object> element, String browser) {
+        List<Map<String, Object>> tags = new ArrayList<>((List<Map<String, Object>>) element.getOrDefault("tags", List.of()));
+        tags.add(Map.of("name", "@browser-" + browser));
+        element.put("tags", tags);
+        element.put("id", element.get("id") + ";" + browser);
+    }
+
+    /** Results of hooks and steps of a scenario, in execution order. */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> results(Map<String, Object> element) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String section : List.of("before", "steps", "after")) {
+            for (Map<String, Object> item : (List<Map<String, Object>>) element.getOrDefault(section, List.of())) {
+                Object result = item.get("result");
+                if (result != null) results.add((Map<String, Object>) result);
+            }
+        }
+        return results;
+    }
+
+    private static String status(Map<String, Object> element) {
+        String status = "passed";
+        for (Map<String, Object> result : results(element)) {
+            String current = String.valueOf(result.get("status"));
+            if (current.equals("failed")) return current;
+            if (!current.equals("passed") && status.equals("passed")) status = current;
+        }
+        return status;
+    }
+
+    private static long durationMillis(Map<String, Object> element) {
+        long nanos = 0;
+        for (Map<String, Object> result : results(element)) {
+            Object duration = result.get("duration");
+            if (duration != null) nanos += ((Number) duration).longValue();
+        }
+        return nanos / 1_000_000;
+    }
+
+    private static String summary(List<ForkResult> forks, List<ScenarioRow> rows) {
+        StringBuilder summary = new StringBuilder("Forked run summary\n");
+        summary.append(String.format(Locale.ROOT, "%-12s %-10s %-10s %-10s %s%n", "fork", "exit", "wall ms", "scen. ms", "scenarios"));
+        for (ForkResult fork : forks) {
+            List<ScenarioRow> forkRows = rows.stream().filter(row -> row.fork().equals(fork.label())).toList();
+            long scenarioMillis = forkRows.stream().mapToLong(ScenarioRow::millis).sum();
+            summary.append(String.format(Locale.ROOT, "%-12s %-10d %-10d %-10d %d%n",
+                    fork.label(), fork.exitCode(), fork.wallMillis(), scenarioMillis, forkRows.size()));
+        }
+
+        summary.append(String.format(Locale.ROOT, "%n%-12s %-8s %-8s %-10s %-50s %s%n", "fork", "status", "attempts", "ms", "scenario", "name"));
+        rows.stream()
+                .sorted(Comparator.comparingLong(ScenarioRow::millis).reversed())
+                .forEach(row -> summary.append(String.format(Locale.ROOT, "%-12s %-8s %-8d %-10d %-50s %s%n",
+                        row.fork(), row.status(), row.attempts(), row.millis(), row.key(), row.name())));
+
+        long passed = rows.stream().filter(ScenarioRow::passed).count();
+        long flaky = rows.stream().filter(row -> row.status().equals("flaky")).count();
+        summary.append(String.format(Locale.ROOT, "%n%d scenario(s), %d passed (%d flaky), %d not passed%n",
+                rows.size(), passed, flaky, rows.size() - passed));
+        return summary.toString();
+    }
+
+    private static void recordTimings(List<ScenarioRow> rows) {
+        ShardSettings settings = ShardSettings.fromConfig();
+        if (!settings.recordTimings() || rows.isEmpty()) return;
+
+        Map<String, Long> measured = new LinkedHashMap<>();
+        rows.forEach(row -> measured.put(row.key(), row.millis()));
+        ScenarioTimings.record(settings.timingsFile(), measured);
+        logger.warn("Recorded {} scenario duration(s) to {}", rows.size(), settings.timingsFile());
+    }
+}
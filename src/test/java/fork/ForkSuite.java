@@ -0,0 +1,44 @@
+package fork;
+
+import incremental.IncrementalSelection;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import retry.ScenarioRetry;
+import sharding.ScenarioSharding;
+
+/**
+ * Suite class run inside each fork. Same features, glue and tags as runners.TestRunner, but
+ * without its shared target/report output: report plugins are passed per fork (cucumber.plugin)
+ * by ForkedRunLauncher so forks never write the same file.
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = {"stepdefinitions", "hooks"},
+        plugin = {"sharding.ScenarioDurationPlugin", "incremental.IncrementalPlugin"},
+        monochrome = true,
+        tags = "@required or @optional"
+)
+public class ForkSuite extends AbstractTestNGCucumberTests {
+
+    /**
+     * This fork's part of the node's shard (FORK_INDEX/FORK_COUNT set by the launcher), minus the
+     * unchanged passed ones in incremental mode.
+     */
+    @Override
+    @DataProvider
+    public Object[][] scenarios() {
+        return IncrementalSelection.select(ScenarioSharding.select(super.scenarios()));
+    }
+
+    /** Cucumber's scenario test, with failed scenarios retried in-run (retryMaxAttempts / retryTagPolicy). */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = ScenarioRetry.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        super.runScenario(pickleWrapper, featureWrapper);
+    }
+}
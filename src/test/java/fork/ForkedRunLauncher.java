@@ -0,0 +1,139 @@
+package fork;
+
+import configuration.ReadConfig;
+import incremental.IncrementalSelection;
+import org.slf4j.Logger;
+import regression.RegressionGate;
+import utilities.LoggerUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Forked execution mode: runs the Cucumber suite in {@code forkCount} separate JVMs.
+ * <p>
+ * Each fork runs ForkSuite (the TestRunner scenarios) through TestNG with FORK_INDEX/FORK_COUNT
+ * set, so it takes a disjoint, duration-balanced subset of the scenarios (see sharding.ShardPlanner),
+ * starts its own drivers and writes its own JSON/HTML report, TestNG output and logs under
+ * target/forks/fork-N. When all forks are done the reports are merged (ForkReportMerger).
+ * Inside a CI shard (SHARD_INDEX/SHARD_COUNT) the forks inherit it and split only that node's
+ * scenarios. Static state (driver thread locals, config, stub server) is per JVM, so forks never share it.
+ * Forks start with the AppCDS archive once mvn -Pcds test has built it (CdsClasspath).
+ * <p>
+ * Run with: mvn -Pforked test  (FORK_COUNT overrides forkCount)
+ */
+public class ForkedRunLauncher {
+
+    static final Logger logger = LoggerUtil.getLogger();
+
+    static final Path FORKS_DIR = Path.of("target", "forks");
+
+    /** A fork's step and scenario samples for the regression gate, in its directory. */
+    static final String PERF_SAMPLES_FILE = "perf-samples.properties";
+
+    /** Outcome of one fork JVM; browser is set for browser-matrix forks (MatrixRunLauncher), null otherwise. */
+    record ForkResult(String browser, int index, Path directory, int exitCode, long wallMillis) {
+
+        /** Fork name in summaries, e.g. "1" or "firefox/1". */
+        String label() {
+            return browser == null ? String.valueOf(index) : browser + "/" + index;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int forkCount = Integer.parseInt(System.getenv().getOrDefault("FORK_COUNT",
+                String.valueOf(ReadConfig.getInstance().getForkCount())));
+        if (forkCount < 1) {
+            throw new IllegalArgumentException("forkCount must be at least 1 but was " + forkCount);
+        }
+
+        deleteRecursively(FORKS_DIR);
+        logger.warn("Starting {} forked JVM(s); per-fork output in {}", forkCount, FORKS_DIR.toAbsolutePath());
+        // Each fork only sees its part of the suite; whether together they ran all of it is decided here
+        boolean fullRun = IncrementalSelection.isFullRunDue() && IncrementalSelection.coversWholeSuite();
+
+        List<Process> processes = new ArrayList<>();
+        List<Long> startTimes = new ArrayList<>();
+        for (int index = 0; index < forkCount; index++) {
+            startTimes.add(System.nanoTime());
+            processes.add(start(forkDirectory(index), index, forkCount, index, Map.of()));
+        }
+
+        List<ForkResult> results = new ArrayList<>();
+        for (int index = 0; index < forkCount; index++) {
+            int exitCode = processes.get(index).waitFor();
+            long wallMillis = (System.nanoTime() - startTimes.get(index)) / 1_000_000;
+            results.add(new ForkResult(null, index, forkDirectory(index), exitCode, wallMillis));
+            logger.warn("Fork {} finished with exit code {} in {} ms", index, exitCode, wallMillis);
+        }
+
+        boolean passed = ForkReportMerger.merge(results);
+        if (fullRun && results.stream().allMatch(result -> Files.exists(result.directory().resolve("cucumber.json")))) {
+            IncrementalSelection.recordFullRun();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    static Path forkDirectory(int index) {
+        return FORKS_DIR.resolve("fork-" + index);
+    }
+
+    /**
+     * Starts a fork running shard {@code index} of {@code forkCount} with its output in {@code directory};
+     * {@code ordinal} numbers the forks of the whole invocation (metrics port offset).
+     */
+    static Process start(Path directory, int index, int forkCount, int ordinal, Map<String, String> environment)
+            throws IOException {
+        Files.createDirectories(directory);
+
+        String plugins = String.join(",",
+                "json:" + directory.resolve("cucumber.json"),
+                "reporting.StreamingReportPlugin:" + directory.resolve("report"),
+                // Also drives command counting and budgets (see TestRunner)
+                "instrumentation.StepTimingPlugin:" + directory.resolve("step-timings.txt"),
+                "metrics.MetricsPlugin:" + directory.resolve("metrics.txt"),
+                "retry.FlakinessPlugin:" + directory.resolve("flaky-scenarios.txt"));
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(CdsClasspath.forkOptions(System.getProperty("java.class.path")));
+        command.addAll(List.of(
+                "-Dcucumber.plugin=" + plugins,
+                "-DLOG_DIR=" + directory.resolve("logs"),
+                "org.testng.TestNG",
+                "-d", directory.resolve("testng").toString(),
+                "-testclass", ForkSuite.class.getName()));
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("console.log").toFile());
+        // The outer CI shard (SHARD_INDEX/SHARD_COUNT) is inherited; the forks split it among themselves
+        builder.environment().put("FORK_INDEX", String.valueOf(index));
+        builder.environment().put("FORK_COUNT", String.valueOf(forkCount));
+        // Forks must not write the shared timings file concurrently; the merge step records once
+        builder.environment().put("SHARD_RECORD_TIMINGS", "false");
+        // A fork's shard gives other step medians than a full run: it hands its samples to the merge step,
+        // which runs the regression gate once on all of them
+        builder.environment().put(RegressionGate.SAMPLES_FILE_VARIABLE, directory.resolve(PERF_SAMPLES_FILE).toString());
+        // A live metrics endpoint per fork, on consecutive ports from the configured one
+        int metricsPort = Integer.parseInt(System.getenv().getOrDefault("METRICS_PORT",
+                String.valueOf(ReadConfig.getInstance().getMetricsPort())));
+        builder.environment().put("METRICS_PORT", String.valueOf(metricsPort + ordinal));
+        builder.environment().putAll(environment);
+        return builder.start();
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) return;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
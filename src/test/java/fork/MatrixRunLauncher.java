@@ -0,0 +1,89 @@
+package fork;
+
+import configuration.ReadConfig;
+import fork.ForkedRunLauncher.ForkResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fork.ForkedRunLauncher.logger;
+
+/**
+ * Browser-matrix mode: one invocation runs every scenario on each browser of {@code matrixBrowsers}
+ * (e.g. "chrome:2,firefox:2,edge:1"), all browsers concurrently.
+ * <p>
+ * Each browser gets its own bounded pool of fork JVMs (the number after the colon, default 1), which
+ * split that browser's scenarios by duration exactly like ForkedRunLauncher, so a cross-browser pass
+ * takes about as long as the slowest browser instead of the sum of all. Output lands under
+ * target/matrix/&lt;browser&gt;/fork-N; the reports are merged into target/cucumber-matrix.json with one
+ * feature per browser and every scenario tagged @browser-&lt;name&gt; (summary: target/matrix-summary.txt).
+ * Backend routing (lightweightBrowser) is off in matrix forks, so every scenario really runs on its browser.
+ * <p>
+ * Run with: mvn -Pmatrix test  (MATRIX_BROWSERS overrides matrixBrowsers)
+ */
+public class MatrixRunLauncher {
+
+    static final Path MATRIX_DIR = Path.of("target", "matrix");
+    static final Path MERGED_REPORT = Path.of("target", "cucumber-matrix.json");
+    static final Path SUMMARY = Path.of("target", "matrix-summary.txt");
+
+    /** A started fork of one browser. */
+    private record RunningFork(String browser, int index, Path directory, Process process, long startNanos) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Integer> browsers = parseBrowsers(System.getenv().getOrDefault("MATRIX_BROWSERS",
+                ReadConfig.getInstance().getMatrixBrowsers()));
+
+        ForkedRunLauncher.deleteRecursively(MATRIX_DIR);
+        logger.warn("Starting browser matrix {}; per-fork output in {}", browsers, MATRIX_DIR.toAbsolutePath());
+
+        List<RunningFork> forks = new ArrayList<>();
+        int ordinal = 0;
+        for (Map.Entry<String, Integer> entry : browsers.entrySet()) {
+            String browser = entry.getKey();
+            int forkCount = entry.getValue();
+            for (int index = 0; index < forkCount; index++) {
+                Path directory = MATRIX_DIR.resolve(browser).resolve("fork-" + index);
+                long start = System.nanoTime();
+                // An empty LIGHTWEIGHT_BROWSER turns routing off; it would move untagged scenarios off this browser
+                Process process = ForkedRunLauncher.start(directory, index, forkCount, ordinal++,
+                        Map.of("BROWSER", browser, "LIGHTWEIGHT_BROWSER", ""));
+                forks.add(new RunningFork(browser, index, directory, process, start));
+            }
+        }
+
+        List<ForkResult> results = new ArrayList<>();
+        for (RunningFork fork : forks) {
+            int exitCode = fork.process().waitFor();
+            long wallMillis = (System.nanoTime() - fork.startNanos()) / 1_000_000;
+            results.add(new ForkResult(fork.browser(), fork.index(), fork.directory(), exitCode, wallMillis));
+            logger.warn("Fork {}/{} finished with exit code {} in {} ms", fork.browser(), fork.index(), exitCode, wallMillis);
+        }
+
+        boolean passed = ForkReportMerger.merge(results, MERGED_REPORT, SUMMARY);
+        System.exit(passed ? 0 : 1);
+    }
+
+    /** Parses "chrome:2,firefox,edge:1" into browser -> fork count (default 1), in order. */
+    static Map<String, Integer> parseBrowsers(String value) {
+        Map<String, Integer> browsers = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String entry = part.trim().toLowerCase();
+            if (entry.isEmpty()) continue;
+            int colon = entry.indexOf(':');
+            String browser = colon < 0 ? entry : entry.substring(0, colon).trim();
+            int forkCount = colon < 0 ? 1 : Integer.parseInt(entry.substring(colon + 1).trim());
+            if (forkCount < 1) {
+                throw new IllegalArgumentException("Fork count for " + browser + " must be at least 1 but was " + forkCount);
+            }
+            browsers.put(browser, forkCount);
+        }
+        if (browsers.isEmpty()) {
+            throw new IllegalArgumentException("matrixBrowsers lists no browser: '" + value + "'");
+        }
+        return browsers;
+    }
+}
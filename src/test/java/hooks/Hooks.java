@@ -1,19 +1,31 @@
 package hooks;
 
+import base.BackendRouter;
+import base.BrowserContexts;
 import base.TestBase;
 import behaviour.ActionMethods;
 import behaviour.GetMethods;
 import configuration.LogDirectorySetup;
 import core.Constants;
+import instrumentation.BrowserEvents;
+import instrumentation.CommandBudgets;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 import org.slf4j.Logger;
+import retry.ScenarioRetry;
+import server.SauceDemoStubServer;
+import sharding.ScenarioTimings;
 import utilities.FileUtils;
 import utilities.ScreenshotUtil;
+import watchdog.CommandWatchdog;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 public class Hooks {
 
@@ -30,6 +42,16 @@ public class Hooks {
         }
         ScreenshotUtil.deleteFailedScreenshotsInFolder(Constants.SCREENSHOTSPATH);
         FileUtils.deleteTestReports(Constants.NUMBEROFTESTREPORTSTOKEEP);
+
+        // Local SauceDemo replica for offline/deterministic runs (no-op unless enabled)
+        SauceDemoStubServer.startIfEnabled();
+    }
+
+    @AfterAll
+    public static void globalTeardown() {
+        logger.info("AFTER ALL SCENARIO HOOK CALLED:");
+        BrowserContexts.closeAll();
+        SauceDemoStubServer.stopShared();
     }
 
     @Before
@@ -38,11 +60,23 @@ public class Hooks {
         ActionMethods.setScenario(scenario);
         GetMethods.setScenario(scenario);
         logger.info("Starting scenario: {}", scenario.getName());
-        // Initialize WebDriver using TestBase
-        TestBase.initializeDriver();
+        // Initialize WebDriver on the backend chosen from the scenario's tags
+        BackendRouter.initializeDriver(scenario.getSourceTagNames());
+        BrowserEvents.scenarioStarted(TestBase.getDriver());
+    }
+
+    @AfterStep
+    public void checkCommandBudget(Scenario scenario) {
+        List<String> violations = CommandBudgets.takeViolations();
+        if (violations.isEmpty()) return;
 
-        // Re-initialize ScreenshotUtil with current driver
-        TestBase.screenshotUtil = new ScreenshotUtil(TestBase.getDriver(), logger);
+        for (String violation : violations) {
+            logger.warn("Command budget exceeded: {}", violation);
+            scenario.log("Command budget exceeded: " + violation);
+        }
+        if (CommandBudgets.mode() == CommandBudgets.Mode.FAIL) {
+            throw new AssertionError("Command budget exceeded: " + String.join("; ", violations));
+        }
     }
 
     @After
@@ -52,21 +86,42 @@ public class Hooks {
             if (scenario.isFailed()) {
                 logger.error("Scenario failed: {}", scenario.getName());
 
+                // A session quarantined by the command watchdog is dead: report why instead of screenshotting it
+                String quarantine = CommandWatchdog.diagnosis(TestBase.getDriver());
+                if (quarantine != null) {
+                    scenario.attach(quarantine.getBytes(StandardCharsets.UTF_8), "text/plain", "Hung command");
+                    return;
+                }
+
+                // Network/console events leading up to the failure (passing scenarios write nothing).
+                // Dumped first: the screenshot adds events of its own and may itself fail on a broken session
+                String browserEvents = BrowserEvents.dump(TestBase.getDriver(), scenario.getName());
+                if (browserEvents != null) {
+                    scenario.attach(browserEvents.getBytes(StandardCharsets.UTF_8), "text/plain", "Browser events");
+                }
+
                 // Capture screenshot for report
                 byte[] screenshotBytes = ((org.openqa.selenium.TakesScreenshot) TestBase.getDriver())
                         .getScreenshotAs(org.openqa.selenium.OutputType.BYTES);
                 scenario.attach(screenshotBytes, "image/png", scenario.getName());
 
                 // Save screenshot to file using ScreenshotUtil
-                TestBase.screenshotUtil.captureScreenshot(scenario.getName());
+                TestBase.captureScreen(scenario.getName());
             } else {
                 logger.info("Scenario passed: {}", scenario.getName());
+
+                // Passed only on a retry: mark it in the report (retry.FlakinessPlugin keeps the statistics)
+                int attempt = ScenarioRetry.attemptOf(ScenarioTimings.keyOf(scenario.getUri(), scenario.getLine()));
+                if (attempt > 1) {
+                    logger.warn("FLAKY: '{}' passed on attempt {}", scenario.getName(), attempt);
+                    scenario.log("FLAKY: passed on attempt " + attempt);
+                }
             }
         } catch (Exception e) {
             logger.error("Failed during afterScenario hook: {}", e.getMessage());
         } finally {
-            // Quit WebDriver after each scenario
-            TestBase.quitDriver();
+            // Quit WebDriver (or close the scenario's browser context) after each scenario
+            BackendRouter.releaseDriver();
         }
     }
 }
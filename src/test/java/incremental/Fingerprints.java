@@ -0,0 +1,186 @@
+package incremental;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import hooks.Hooks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprints deciding whether a scenario can be skipped. A scenario's fingerprint covers:
+ * its feature file text; the bytecode of the glue (incrementalCodePackages) and of the main
+ * classes; config.properties and every environment override of it; and the application
+ * under test (the replica's bytecode for stub/fake runs, the served index page otherwise,
+ * whose hashed bundle names change with every deployment).
+ * The run-wide part is computed once; null means it could not be determined (nothing is skipped).
+ */
+final class Fingerprints {
+
+    /** Environment overrides whose name is not the UPPER_SNAKE form of a config key. */
+    private static final List<String> EXTRA_ENVIRONMENT = List.of("USE_REMOTE_DRIVER", "HUB_HOST", "USE_STUB_SERVER");
+
+    private static final Map<URI, String> featureHashes = new ConcurrentHashMap<>();
+    private static final Map<Path, Path> jarRoots = new ConcurrentHashMap<>();
+
+    private static volatile String run;
+    private static volatile boolean computed;
+
+    private Fingerprints() {}
+
+    /** Fingerprint of one pickle (feature uri + line), or null when the run-wide part is unknown. */
+    static String of(URI featureUri, String key) {
+        String runFingerprint = run();
+        String feature = featureHashes.computeIfAbsent(featureUri, Fingerprints::featureHash);
+        return runFingerprint == null || feature == null ? null : sha256(runFingerprint + "|" + key + "|" + feature);
+    }
+
+    static synchronized String run() {
+        if (!computed) {
+            computed = true;
+            try {
+                String code = codeHash(IncrementalSettings.fromConfig().codePackages());
+                String config = configHash();
+                String application = applicationHash();
+                run = application == null ? null : sha256(code + "|" + config + "|" + application);
+                TestBase.logger.info("Incremental fingerprint: code={}, config={}, application={}",
+                        code.substring(0, 12), config.substring(0, 12), application == null ? "unknown" : application.substring(0, 12));
+            } catch (IOException | URISyntaxException e) {
+                TestBase.logger.warn("Incremental fingerprint unavailable, running every scenario: {}", e.getMessage());
+            }
+        }
+        return run;
+    }
+
+    // ----------------------- Parts -----------------------
+
+    private static String codeHash(List<String> testPackages) throws IOException, URISyntaxException {
+        Path testClasses = classRoot(Hooks.class);
+        Path mainClasses = classRoot(ReadConfig.class);
+        StringBuilder hashes = new StringBuilder();
+        for (String name : testPackages) {
+            hashDirectory(testClasses, testClasses.resolve(name.replace('.', '/')), hashes);
+        }
+        hashDirectory(mainClasses, mainClasses, hashes);
+        return sha256(hashes.toString());
+    }
+
+    /** config.properties plus the environment variables overriding it (incremental* settings excluded). */
+    private static String configHash() throws IOException {
+        Properties properties = new Properties();
+        String text;
+        try (InputStream in = ReadConfig.class.getClassLoader().getResourceAsStream("config/config.properties")) {
+            text = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        properties.load(new StringReader(text));
+
+        TreeSet<String> environment = new TreeSet<>(EXTRA_ENVIRONMENT);
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith("incremental")) {
+                environment.add(key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase());
+            }
+        }
+        StringBuilder values = new StringBuilder(text.replaceAll("(?m)^incremental.*$", ""));
+        for (String name : environment) {
+            String value = System.getenv(name);
+            if (value != null) values.append('\n').append(name).append('=').append(value);
+        }
+        return sha256(values.toString());
+    }
+
+    /** The replica's bytecode for runs served in-process, and the live index page for runs against a URL. */
+    private static String applicationHash() throws IOException, URISyntaxException {
+        ReadConfig config = ReadConfig.getInstance();
+        boolean stub = Boolean.parseBoolean(System.getenv().getOrDefault("USE_STUB_SERVER", String.valueOf(config.isStubServerEnabled())));
+        boolean fake = TestBase.configuredBrowser().equals("fake");
+        boolean lightweightFake = System.getenv().getOrDefault("LIGHTWEIGHT_BROWSER", config.getLightweightBrowser()).equals("fake");
+
+        StringBuilder application = new StringBuilder();
+        if (stub || fake || lightweightFake) {
+            Path testClasses = classRoot(Hooks.class);
+            hashDirectory(testClasses, testClasses.resolve("server"), application);
+            hashDirectory(testClasses, testClasses.resolve("fake"), application);
+        }
+        if (!stub && (!fake || lightweightFake)) {
+            // Some scenarios run against the configured site: its index page names the deployed bundles
+            try {
+                HttpResponse<byte[]> page = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()
+                        .send(HttpRequest.newBuilder(URI.create(config.getUrl())).timeout(Duration.ofSeconds(10)).build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                application.append(config.getUrl()).append('=').append(page.statusCode()).append(':').append(sha256(page.body()));
+            } catch (IOException | InterruptedException | IllegalArgumentException e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                TestBase.logger.warn("Could not fetch {} for the incremental fingerprint: {}", config.getUrl(), e.getMessage());
+                return null;
+            }
+        }
+        return sha256(application.toString());
+    }
+
+    private static String featureHash(URI featureUri) {
+        try {
+            return sha256(Files.readAllBytes(Path.of(featureUri)));
+        } catch (IOException | RuntimeException e) {
+            TestBase.logger.warn("Cannot read {} for the incremental fingerprint: {}", featureUri, e.getMessage());
+            return null;
+        }
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    /** The directory a class was loaded from, or the root of its jar (the cds-archive profile's project jar). */
+    private static Path classRoot(Class<?> type) throws URISyntaxException, IOException {
+        Path location = Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        if (!Files.isRegularFile(location)) return location;
+        Path root = jarRoots.get(location);
+        if (root == null) {
+            root = FileSystems.newFileSystem(location).getPath("/");
+            jarRoots.put(location, root);
+        }
+        return root;
+    }
+
+    /** Appends "relative path=hash" for every file below directory, in a stable order. */
+    private static void hashDirectory(Path root, Path directory, StringBuilder out) throws IOException {
+        if (!Files.isDirectory(directory)) return;
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            out.append(root.relativize(file)).append('=').append(sha256(Files.readAllBytes(file))).append('\n');
+        }
+    }
+
+    private static String sha256(String text) {
+        return sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package incremental;
+
+import base.TestBase;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import sharding.ScenarioTimings;
+import utilities.LockedProperties;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin recording, in incremental mode, the fingerprint of every passed scenario and
+ * dropping the entries of scenarios that did not pass, so the next incremental run skips
+ * exactly the unchanged green ones.
+ */
+public class IncrementalPlugin implements ConcurrentEventListener {
+
+    static final String CACHE_COMMENT = "Incremental execution: scenarios whose fingerprint passed (incremental.IncrementalPlugin)";
+
+    private final IncrementalSettings settings = IncrementalSettings.fromConfig();
+    private final Map<String, String> passed = new ConcurrentHashMap<>();
+    private final Set<String> notPassed = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!settings.enabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        String key = ScenarioTimings.keyOf(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine());
+        String fingerprint = Fingerprints.of(event.getTestCase().getUri(), key);
+        if (event.getResult().getStatus() == Status.PASSED && fingerprint != null) {
+            passed.put(key, fingerprint);
+            notPassed.remove(key);
+        } else {
+            passed.remove(key);
+            notPassed.add(key);
+        }
+    }
+
+    private void onTestRunFinished() {
+        if (passed.isEmpty() && notPassed.isEmpty()) {
+            return;
+        }
+        boolean fullRun = IncrementalSelection.isFullRun();
+        LockedProperties.update(settings.cacheFile(), CACHE_COMMENT, cache -> {
+            passed.forEach(cache::setProperty);
+            notPassed.forEach(cache::remove);
+            if (fullRun) {
+                cache.setProperty(IncrementalSelection.LAST_FULL_RUN, String.valueOf(System.currentTimeMillis()));
+            }
+        });
+        TestBase.logger.info("Incremental: recorded {} passed and {} not passed scenario(s) in {}",
+                passed.size(), notPassed.size(), settings.cacheFile());
+    }
+}
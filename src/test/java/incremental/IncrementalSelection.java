@@ -0,0 +1,108 @@
+package incremental;
+
+import base.TestBase;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import sharding.ScenarioTimings;
+import sharding.ShardSettings;
+import utilities.LockedProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Filters the TestNG scenario data provider down to the scenarios that have to run: those
+ * without a recorded pass for their current fingerprint. Every scenario runs when incremental
+ * mode is off, when the fingerprint cannot be computed, or when the last full run is older than
+ * incrementalFullRunHours. Rows are {@code [PickleWrapper, FeatureWrapper]}.
+ * <p>
+ * Only a run over the whole suite counts as a full run: not a CI shard, not a fork (the fork
+ * launcher records it for all forks) and not narrowed by a Cucumber tag, name or feature filter.
+ */
+public final class IncrementalSelection {
+
+    /** Cache entry holding the time of the last full run, next to the {@code <feature path>:<line>=<fingerprint>} passes. */
+    static final String LAST_FULL_RUN = "lastFullRunEpochMillis";
+
+    /** Cucumber options that narrow the suite at run time (system property, or the upper-case environment variable). */
+    private static final List<String> RUNTIME_FILTERS = List.of("cucumber.filter.tags", "cucumber.filter.name", "cucumber.features");
+
+    private static volatile boolean fullRun = true;
+
+    private IncrementalSelection() {}
+
+    public static Object[][] select(Object[][] scenarios) {
+        IncrementalSettings settings = IncrementalSettings.fromConfig();
+        fullRun = true;
+        if (!settings.enabled()) {
+            return scenarios;
+        }
+
+        boolean wholeSuite = coversWholeSuite() && !ShardSettings.fromConfig().isForked();
+        Properties cache = LockedProperties.read(settings.cacheFile());
+        if (isFullRunDue(settings, cache)) {
+            fullRun = wholeSuite;
+            return scenarios;
+        }
+
+        List<Object[]> selected = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+            String key = ScenarioTimings.keyOf(pickle.getUri(), pickle.getLine());
+            String fingerprint = Fingerprints.of(pickle.getUri(), key);
+            if (fingerprint != null && fingerprint.equals(cache.getProperty(key))) {
+                skipped.add(key);
+            } else {
+                selected.add(row);
+            }
+        }
+
+        fullRun = wholeSuite && skipped.isEmpty();
+        TestBase.logger.info("Incremental: running {} scenario(s), skipping {} unchanged passed scenario(s){}",
+                selected.size(), skipped.size(), skipped.isEmpty() ? "" : ": " + skipped);
+        return selected.toArray(new Object[0][]);
+    }
+
+    /** Whether this run selected every scenario of the suite (it then counts as the last full run). */
+    static boolean isFullRun() {
+        return fullRun;
+    }
+
+    /** Whether incremental mode is on and the next run has to select every scenario. */
+    public static boolean isFullRunDue() {
+        IncrementalSettings settings = IncrementalSettings.fromConfig();
+        return settings.enabled() && isFullRunDue(settings, LockedProperties.read(settings.cacheFile()));
+    }
+
+    /** Whether this JVM's scenarios, before sharding, are the whole suite. */
+    public static boolean coversWholeSuite() {
+        if (ShardSettings.fromConfig().isSharded()) {
+            return false;
+        }
+        return RUNTIME_FILTERS.stream().noneMatch(option -> System.getProperty(option) != null
+                || System.getenv(option.toUpperCase(Locale.ROOT).replace('.', '_')) != null);
+    }
+
+    /** Records now as the last full run; used by the fork launcher once all forks are done. */
+    public static void recordFullRun() {
+        IncrementalSettings settings = IncrementalSettings.fromConfig();
+        LockedProperties.update(settings.cacheFile(), IncrementalPlugin.CACHE_COMMENT,
+                cache -> cache.setProperty(LAST_FULL_RUN, String.valueOf(System.currentTimeMillis())));
+        TestBase.logger.info("Incremental: recorded a full run in {}", settings.cacheFile());
+    }
+
+    private static boolean isFullRunDue(IncrementalSettings settings, Properties cache) {
+        long lastFullRun = Long.parseLong(cache.getProperty(LAST_FULL_RUN, "0"));
+        Duration sinceFullRun = Duration.ofMillis(System.currentTimeMillis() - lastFullRun);
+        if (lastFullRun == 0 || (!settings.fullRunEvery().isZero() && sinceFullRun.compareTo(settings.fullRunEvery()) > 0)) {
+            TestBase.logger.info("Incremental: full run ({})", lastFullRun == 0
+                    ? "no full run recorded" : "last full run " + sinceFullRun.toHours() + " h ago");
+            return true;
+        }
+        return false;
+    }
+}
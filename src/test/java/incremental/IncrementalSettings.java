@@ -0,0 +1,36 @@
+package incremental;
+
+import configuration.ReadConfig;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental execution settings.
+ * Values come from config.properties and can be overridden with environment variables
+ * (INCREMENTAL, INCREMENTAL_CACHE_FILE, INCREMENTAL_FULL_RUN_HOURS).
+ *
+ * @param enabled        skip scenarios whose fingerprint matches a recorded pass
+ * @param cacheFile      recorded passes ({@code <feature path>:<line>=<fingerprint>}) and the last full run
+ * @param fullRunEvery   a run longer than this after the last full run runs everything; zero never forces one
+ * @param codePackages   test-classes packages whose bytecode is part of every fingerprint
+ */
+public record IncrementalSettings(boolean enabled,
+                                  Path cacheFile,
+                                  Duration fullRunEvery,
+                                  List<String> codePackages) {
+
+    public static IncrementalSettings fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        return new IncrementalSettings(
+                Boolean.parseBoolean(System.getenv().getOrDefault("INCREMENTAL", String.valueOf(config.isIncrementalEnabled()))),
+                Path.of(System.getenv().getOrDefault("INCREMENTAL_CACHE_FILE", config.getIncrementalCacheFile())),
+                Duration.ofHours(Long.parseLong(System.getenv().getOrDefault("INCREMENTAL_FULL_RUN_HOURS",
+                        String.valueOf(config.getIncrementalFullRunHours())))),
+                Arrays.stream(config.getIncrementalCodePackages().split(",")).map(String::trim)
+                        .filter(name -> !name.isEmpty()).toList()
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package instrumentation;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Always-on capture of a session's network requests/responses and console output
+ * (browserEvents=true, BROWSER_EVENTS) through WebDriver BiDi, into a preallocated EventRing of
+ * browserEventBufferKb per session. Hooks clear the ring when a scenario starts and write it to
+ * target/browser-events/ only when the scenario fails; passing scenarios cause no I/O.
+ * Sessions without BiDi (Safari, the fake driver, remote sessions) are not captured.
+ */
+public final class BrowserEvents {
+
+    static final Path DIRECTORY = Path.of("target", "browser-events");
+
+    private static final Logger logger = TestBase.logger;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getenv()
+            .getOrDefault("BROWSER_EVENTS", String.valueOf(ReadConfig.getInstance().isBrowserEventsEnabled())));
+
+    private static final int BUFFER_BYTES = ReadConfig.getInstance().getBrowserEventBufferKb() * 1024;
+
+    // Weak keys: a quit session's ring goes with it, whichever code path quit it
+    private static final Map<WebDriver, EventRing> rings = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private BrowserEvents() {}
+
+    /** Whether sessions should be started with BiDi (the webSocketUrl capability). */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Subscribes to the session's network and console events; no-op when disabled or without BiDi. */
+    public static void attach(WebDriver driver) {
+        if (!ENABLED || !(driver instanceof HasBiDi bidi) || bidi.maybeGetBiDi().isEmpty()) return;
+
+        EventRing ring = new EventRing(BUFFER_BYTES);
+        try {
+            Network network = new Network(driver);
+            network.onBeforeRequestSent(event -> ring.record(event.getTimestamp(), "request",
+                    event.getRequest().getMethod() + " " + event.getRequest().getUrl()));
+            network.onResponseCompleted(event -> ring.record(event.getTimestamp(), "response",
+                    event.getResponseData().getStatus() + " " + event.getRequest().getUrl()
+                            + " (" + event.getResponseData().getBytesReceived() + " B)"));
+            network.onFetchError(event -> ring.record(event.getTimestamp(), "failed",
+                    event.getErrorText() + " " + event.getRequest().getUrl()));
+
+            LogInspector logs = new LogInspector(driver);
+            logs.onConsoleEntry(entry -> ring.record(entry.getTimestamp(), "console." + entry.getLevel(), entry.getText()));
+            logs.onJavaScriptException(entry -> ring.record(entry.getTimestamp(), "exception", entry.getText()));
+
+            rings.put(driver, ring);
+        } catch (Exception e) {
+            logger.warn("Browser event capture unavailable for this session: {}", e.getMessage());
+        }
+    }
+
+    /** Forgets the session's earlier events, so a reused browser only reports the current scenario. */
+    public static void scenarioStarted(WebDriver driver) {
+        EventRing ring = rings.get(driver);
+        if (ring != null) ring.clear();
+    }
+
+    /**
+     * Writes the session's retained events to target/browser-events/ and returns them,
+     * or null when the session is not captured or recorded nothing.
+     */
+    public static String dump(WebDriver driver, String scenarioName) {
+        EventRing ring = rings.get(driver);
+        if (ring == null || ring.size() == 0) return null;
+
+        StringWriter events = new StringWriter();
+        try {
+            events.write("Browser events of '" + scenarioName + "' (last " + ring.size()
+                    + " of at most " + ring.capacity() + ")\n");
+            ring.writeTo(events);
+
+            Path file = DIRECTORY.resolve(scenarioName.replaceAll("[^A-Za-z0-9._-]+", "_")
+                    + "-" + System.currentTimeMillis() + ".log");
+            Files.createDirectories(DIRECTORY);
+            Files.writeString(file, events.toString());
+            logger.info("Browser events written to {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to write browser events: {}", e.getMessage());
+        }
+        return events.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package instrumentation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of WebDriver commands a step definition or page-object method may make.
+ * <ul>
+ *   <li>On a step definition: the limit applies to each execution of the step.</li>
+ *   <li>On a page-object method: the limit applies to the commands made inside the method
+ *       (including nested helper calls) during one step.</li>
+ * </ul>
+ * Checked by CommandBudgets when commandBudgetMode is warn or fail. Budgets in
+ * config/command-budgets.conf (keyed by step text) take precedence for steps.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CommandBudget {
+
+    /** Maximum number of commands. */
+    int value();
+}
@@ -0,0 +1,266 @@
+package instrumentation;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import io.cucumber.plugin.event.PickleStepTestStep;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebDriver command budgets: the maximum number of commands a step or page-object method may make.
+ * <p>
+ * Budgets come from config/command-budgets.conf (keyed by step text or step pattern, optionally
+ * for one browser backend only) or from {@link CommandBudget} on step definitions and page-object
+ * methods. Commands are counted by
+ * CommandTimingListener; after each step, an overrun is reported by the AfterStep hook as a
+ * warning (commandBudgetMode=warn) or a step failure (fail). At the end of the run the worst
+ * offenders are written to command-budgets.txt next to the step timing report. Steps are fed in
+ * by StepTimingPlugin, so budgets are not checked in a run without it.
+ */
+public final class CommandBudgets {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    static final String REPORT_FILE = "command-budgets.txt";
+    static final String BUDGETS_FILE = "config/command-budgets.conf";
+
+    /** Observed command counts for one budgeted step or method. */
+    private static final class ScopeTotals {
+        final int budget;
+        long runs;
+        long overruns;
+        long maxCommands;
+        String worstScenario = "";
+
+        ScopeTotals(int budget) {
+            this.budget = budget;
+        }
+
+        synchronized void add(long commands, String scenario) {
+            runs++;
+            if (commands > budget) overruns++;
+            if (commands > maxCommands || runs == 1) {
+                maxCommands = commands;
+                worstScenario = scenario;
+            }
+        }
+    }
+
+    private static final Mode mode = Mode.valueOf(System.getenv()
+            .getOrDefault("COMMAND_BUDGET_MODE", ReadConfig.getInstance().getCommandBudgetMode())
+            .toUpperCase(Locale.ROOT));
+
+    private static final Map<String, Integer> configuredBudgets = loadConfiguredBudgets();
+    private static final Map<String, OptionalInt> annotatedStepBudgets = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> methodBudgets = new ConcurrentHashMap<>();
+    private static final Map<String, ScopeTotals> totals = new ConcurrentHashMap<>();
+    private static final ThreadLocal<List<String>> pendingViolations = ThreadLocal.withInitial(ArrayList::new);
+
+    /** @CommandBudget methods of a class, keyed by name + descriptor as seen by StackWalker; empty for most classes. */
+    private static final ClassValue<Map<String, Integer>> budgetedMethods = new ClassValue<>() {
+        @Override
+        protected Map<String, Integer> computeValue(Class<?> type) {
+            Map<String, Integer> budgets = new HashMap<>();
+            Method[] methods;
+            try {
+                methods = type.getDeclaredMethods();
+            } catch (LinkageError e) {
+                // Library classes on the stack may reference optional classes that are absent
+                return Map.of();
+            }
+            for (Method method : methods) {
+                CommandBudget budget = method.getAnnotation(CommandBudget.class);
+                if (budget != null) {
+                    String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+                            .toMethodDescriptorString();
+                    budgets.put(method.getName() + descriptor, budget.value());
+                }
+            }
+            return budgets.isEmpty() ? Map.of() : budgets;
+        }
+    };
+
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /** Frames from here down run the step definition; no budgeted method is below them. */
+    private static final String CUCUMBER_PACKAGE = "io.cucumber.";
+
+    private CommandBudgets() {}
+
+    public static Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Counts the current command against every @CommandBudget method on the call stack.
+     * Called by CommandTimingListener for each command made during a step. The walk stops at
+     * Cucumber's step invocation (the frames below it are runner and test framework code) and only
+     * looks up frames of classes that declare budgets, so a command costs one short walk.
+     */
+    static void attributeToBudgetedMethods(StepMetrics step) {
+        if (mode == Mode.OFF) return;
+
+        Set<String> active = walker.walk(frames -> {
+            Set<String> found = new LinkedHashSet<>();
+            frames.takeWhile(frame -> !frame.getDeclaringClass().getName().startsWith(CUCUMBER_PACKAGE)).forEach(frame -> {
+                Class<?> type = frame.getDeclaringClass();
+                Map<String, Integer> budgets = budgetedMethods.get(type);
+                if (budgets.isEmpty()) return;
+                Integer budget = budgets.get(frame.getMethodName() + frame.getDescriptor());
+                if (budget != null) {
+                    String name = type.getSimpleName() + "." + frame.getMethodName();
+                    methodBudgets.putIfAbsent(name, budget);
+                    found.add(name);
+                }
+            });
+            return found;
+        });
+        active.forEach(step::recordBudgetedMethod);
+    }
+
+    /**
+     * Checks a finished step (and the budgeted page methods it called) against their budgets;
+     * {@code backend} is the browser the scenario ran on.
+     */
+    static void onStepFinished(PickleStepTestStep testStep, StepMetrics metrics, String scenario, String backend, boolean passed) {
+        if (mode == Mode.OFF) return;
+
+        String text = testStep.getStep().getText();
+        OptionalInt stepBudget = stepBudget(testStep, backend);
+        if (stepBudget.isPresent()) {
+            check("step: [" + backend + "] " + testStep.getPattern(), stepBudget.getAsInt(), metrics.commands(),
+                    "Step '" + text + "'", scenario, passed);
+        }
+
+        metrics.byBudgetedMethod().forEach((method, commands) -> check("page: " + method, methodBudgets.get(method),
+                commands, method + "() during step '" + text + "'", scenario, passed));
+    }
+
+    /** Violations of the step that just finished on this thread (consumed by the AfterStep hook). */
+    public static List<String> takeViolations() {
+        List<String> violations = List.copyOf(pendingViolations.get());
+        pendingViolations.get().clear();
+        return violations;
+    }
+
+    private static void check(String scope, int budget, long commands, String what, String scenario, boolean passed) {
+        // A failed step stops early (or times out polling), so its count says nothing about the budget
+        if (!passed) return;
+        totals.computeIfAbsent(scope, key -> new ScopeTotals(budget)).add(commands, scenario);
+        if (commands > budget) {
+            pendingViolations.get().add("%s made %d WebDriver commands, budget is %d".formatted(what, commands, budget));
+        }
+    }
+
+    /** Budget for the backend ("[fake] step"), then for every backend, by step text before pattern. */
+    private static OptionalInt stepBudget(PickleStepTestStep testStep, String backend) {
+        String prefix = "[" + backend + "] ";
+        for (String key : List.of(prefix + testStep.getStep().getText(), prefix + testStep.getPattern(),
+                testStep.getStep().getText(), testStep.getPattern())) {
+            Integer configured = configuredBudgets.get(key);
+            if (configured != null) return OptionalInt.of(configured);
+        }
+        return annotatedStepBudgets.computeIfAbsent(testStep.getCodeLocation(), CommandBudgets::annotatedBudget);
+    }
+
+    /** Reads @CommandBudget from a step definition code location like "pkg.Steps.method(java.lang.String)". */
+    private static OptionalInt annotatedBudget(String codeLocation) {
+        int parameters = codeLocation.indexOf('(');
+        if (parameters < 0) return OptionalInt.empty();
+        String qualifiedMethod = codeLocation.substring(0, parameters);
+        int dot = qualifiedMethod.lastIndexOf('.');
+        List<String> parameterTypes = Arrays.stream(codeLocation.substring(parameters + 1, codeLocation.length() - 1).split(","))
+                .map(String::trim).filter(type -> !type.isEmpty()).toList();
+
+        try {
+            Class<?> type = Class.forName(qualifiedMethod.substring(0, dot));
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.getName().equals(qualifiedMethod.substring(dot + 1))) continue;
+                List<String> declared = Arrays.stream(method.getParameterTypes()).map(Class::getTypeName).toList();
+                CommandBudget budget = method.getAnnotation(CommandBudget.class);
+                if (declared.equals(parameterTypes) && budget != null) {
+                    return OptionalInt.of(budget.value());
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            TestBase.logger.warn("Cannot resolve step definition {} for command budgets: {}", codeLocation, e.getMessage());
+        }
+        return OptionalInt.empty();
+    }
+
+    /** Lines of "[backend] step text or pattern = max commands" (backend optional); the last '=' separates the budget. */
+    private static Map<String, Integer> loadConfiguredBudgets() {
+        Map<String, Integer> budgets = new HashMap<>();
+        try (InputStream stream = CommandBudgets.class.getClassLoader().getResourceAsStream(BUDGETS_FILE)) {
+            if (stream == null) return budgets;
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int separator = line.lastIndexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid command budget line (expected 'step = max'): " + line);
+                }
+                String step = line.substring(0, separator).strip();
+                int backend = step.startsWith("[") ? step.indexOf(']') : -1;
+                if (backend > 0) {
+                    step = step.substring(0, backend + 1).toLowerCase(Locale.ROOT) + " " + step.substring(backend + 1).strip();
+                }
+                budgets.put(step, Integer.parseInt(line.substring(separator + 1).strip()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + BUDGETS_FILE + ": " + e.getMessage(), e);
+        }
+        return budgets;
+    }
+
+    /** Writes the budgeted scopes, worst (highest max/budget) first. */
+    static void writeReport(Path directory) {
+        if (mode == Mode.OFF || totals.isEmpty()) return;
+
+        StringBuilder report = new StringBuilder("WebDriver command budgets (worst offenders first)\n");
+        report.append(String.format(Locale.ROOT, "%-7s %6s %6s %6s %8s  %-70s %s%n",
+                "status", "budget", "max", "runs", "overruns", "scope", "worst scenario"));
+
+        List<Map.Entry<String, ScopeTotals>> rows = new ArrayList<>(totals.entrySet());
+        rows.sort(Comparator.comparingDouble(
+                (Map.Entry<String, ScopeTotals> entry) -> (double) entry.getValue().maxCommands / entry.getValue().budget).reversed());
+        for (Map.Entry<String, ScopeTotals> row : rows) {
+            ScopeTotals scope = row.getValue();
+            synchronized (scope) {
+                report.append(String.format(Locale.ROOT, "%-7s %6d %6d %6d %8d  %-70s %s%n",
+                        scope.overruns > 0 ? "OVER" : "ok", scope.budget, scope.maxCommands, scope.runs,
+                        scope.overruns, row.getKey(), scope.worstScenario));
+            }
+        }
+
+        Path file = directory.resolve(REPORT_FILE);
+        TestBase.logger.info("\n{}", report);
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write command budget report to {}: {}", file, e.getMessage());
+        }
+    }
+}
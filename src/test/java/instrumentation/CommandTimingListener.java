@@ -0,0 +1,97 @@
+package instrumentation;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+import trace.Trace;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Times every WebDriver/WebElement call made through the decorated driver and attributes it
+ * (name, duration, payload size) to the current Cucumber step (StepContext). Every command is
+ * also recorded in the binary trace (trace.Trace).
+ * <p>
+ * Payload size is the number of characters/bytes sent and received: strings and key sequences
+ * in the arguments, plus String/byte[] results (page source, text, screenshots). It approximates
+ * the wire size of the command, which is what makes some commands expensive.
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    /** Accessors that only return a local helper object and never reach the browser (also used by the command watchdog). */
+    public static final Set<String> LOCAL_CALLS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "getWrappedDriver",
+            "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final CommandTimingListener INSTANCE = new CommandTimingListener();
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** The listener that times commands; TestBase fires it from the driver's one decorator (CommandWatchdog.guard). */
+    public static WebDriverListener get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args, result, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args, null, true);
+    }
+
+    private void finish(Method method, Object[] args, Object result, boolean failed) {
+        if (!isCommand(method)) return;
+
+        Deque<Long> starts = startTimes.get();
+        if (starts.isEmpty()) return;
+        long start = starts.pop();
+        long nanos = System.nanoTime() - start;
+        long payload = payloadSize(args) + payloadSize(result);
+
+        Trace.command(method.getName(), start, nanos, (int) Math.min(payload, Integer.MAX_VALUE), failed);
+
+        StepMetrics step = StepContext.current();
+        if (step != null) {
+            step.record(method.getName(), nanos, payload);
+            CommandBudgets.attributeToBudgetedMethods(step);
+        }
+    }
+
+    private static boolean isCommand(Method method) {
+        return !LOCAL_CALLS.contains(method.getName());
+    }
+
+    private static long payloadSize(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case CharSequence text -> text.length();
+            case byte[] bytes -> bytes.length;
+            case By by -> by.toString().length();
+            case Object[] array -> {
+                long size = 0;
+                for (Object element : array) size += payloadSize(element);
+                yield size;
+            }
+            case Collection<?> collection -> {
+                long size = 0;
+                for (Object element : collection) size += payloadSize(element);
+                yield size;
+            }
+            default -> 0;
+        };
+    }
+}
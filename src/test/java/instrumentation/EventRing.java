@@ -0,0 +1,83 @@
+package instrumentation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fixed-size ring of recent browser events for one session. All storage is allocated up front
+ * (text, length and timestamp per slot), so recording copies characters into a slot and never
+ * allocates or does I/O; once full, the oldest events are overwritten. Events longer than a
+ * slot are truncated.
+ */
+public final class EventRing {
+
+    /** Characters kept per event (kind, message, URL ...). */
+    public static final int SLOT_CHARS = 240;
+
+    /** Heap bytes per slot: the characters plus the length and the timestamp. */
+    public static final int SLOT_BYTES = SLOT_CHARS * Character.BYTES + Integer.BYTES + Long.BYTES;
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final char[] text;
+    private final int[] lengths;
+    private final long[] timestamps;
+    private final int capacity;
+    private long written;
+
+    /** A ring using at most {@code maxBytes} of heap (at least one slot). */
+    public EventRing(int maxBytes) {
+        this.capacity = Math.max(1, maxBytes / SLOT_BYTES);
+        this.text = new char[capacity * SLOT_CHARS];
+        this.lengths = new int[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    /** Stores "kind message" (truncated to SLOT_CHARS) with the given epoch-millis timestamp. */
+    public synchronized void record(long epochMillis, String kind, String message) {
+        int slot = (int) (written++ % capacity);
+        int offset = slot * SLOT_CHARS;
+        int length = Math.min(kind.length(), SLOT_CHARS);
+        kind.getChars(0, length, text, offset);
+        if (length < SLOT_CHARS) {
+            text[offset + length++] = ' ';
+            int copied = Math.min(message.length(), SLOT_CHARS - length);
+            message.getChars(0, copied, text, offset + length);
+            length += copied;
+        }
+        lengths[slot] = length;
+        timestamps[slot] = epochMillis;
+    }
+
+    /** Forgets all events (the storage is kept for the next scenario). */
+    public synchronized void clear() {
+        written = 0;
+    }
+
+    public synchronized int size() {
+        return (int) Math.min(written, capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Writes the retained events oldest first, one per line, prefixed with their local time. */
+    public synchronized void writeTo(Writer out) throws IOException {
+        long overwritten = Math.max(0, written - capacity);
+        if (overwritten > 0) {
+            out.write("... " + overwritten + " older events overwritten\n");
+        }
+        for (long i = overwritten; i < written; i++) {
+            int slot = (int) (i % capacity);
+            out.write(TIME.format(Instant.ofEpochMilli(timestamps[slot])));
+            out.write(' ');
+            out.write(text, slot * SLOT_CHARS, lengths[slot]);
+            out.write('\n');
+        }
+    }
+}
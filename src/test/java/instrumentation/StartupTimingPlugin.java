@@ -0,0 +1,61 @@
+package instrumentation;
+
+import base.TestBase;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseStarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cucumber plugin measuring JVM start to first scenario: the time from the process start
+ * (launcher, class loading, Cucumber/TestNG setup) until the first scenario begins. It is logged
+ * and written, as milliseconds, to target/startup-millis.txt or the file given as plugin argument
+ * (fork.CdsArchiveLauncher compares runs with and without the class-data-sharing archive).
+ */
+public class StartupTimingPlugin implements ConcurrentEventListener {
+
+    static final Path REPORT = Path.of("target", "startup-millis.txt");
+
+    private final Path report;
+    private final AtomicBoolean measured = new AtomicBoolean();
+
+    public StartupTimingPlugin() {
+        this(REPORT.toFile());
+    }
+
+    public StartupTimingPlugin(File report) {
+        this.report = report.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> onFirstScenario());
+    }
+
+    private void onFirstScenario() {
+        if (!measured.compareAndSet(false, true)) {
+            return;
+        }
+        Instant processStart = ProcessHandle.current().info().startInstant().orElse(null);
+        if (processStart == null) {
+            return;
+        }
+        long millis = Duration.between(processStart, Instant.now()).toMillis();
+        TestBase.logger.info("JVM start to first scenario: {} ms", millis);
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            Files.writeString(report, millis + "\n");
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write startup time to {}: {}", report, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package instrumentation;
+
+/**
+ * The step currently executing on this thread, so that driver commands (seen by
+ * CommandTimingListener) can be attributed to it. Cucumber runs a scenario's steps and
+ * publishes their events on the same thread, including with parallel TestNG execution.
+ */
+public final class StepContext {
+
+    private static final ThreadLocal<StepMetrics> current = new ThreadLocal<>();
+
+    private StepContext() {}
+
+    /** Starts attributing commands on this thread to the given step. */
+    public static StepMetrics begin(String step) {
+        StepMetrics metrics = new StepMetrics(step);
+        current.set(metrics);
+        return metrics;
+    }
+
+    /** Stops attribution and returns what the step did; null if no step was started. */
+    public static StepMetrics end() {
+        StepMetrics metrics = current.get();
+        current.remove();
+        return metrics;
+    }
+
+    /** Metrics of the running step, or null outside a step (e.g. load-test journeys). */
+    public static StepMetrics current() {
+        return current.get();
+    }
+}
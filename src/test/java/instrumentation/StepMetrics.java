@@ -0,0 +1,87 @@
+package instrumentation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WebDriver commands made while one Cucumber step (or hook) ran on the current thread.
+ * Only touched by the thread executing the step, so it needs no synchronization.
+ */
+public final class StepMetrics {
+
+    /** Count, time and payload of one command name (findElement, getText, ...). */
+    public static final class CommandStats {
+        long count;
+        long nanos;
+        long payloadChars;
+
+        public long count() {
+            return count;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        public long payloadChars() {
+            return payloadChars;
+        }
+    }
+
+    private final String step;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, CommandStats> byCommand = new LinkedHashMap<>();
+    private final Map<String, Long> byBudgetedMethod = new LinkedHashMap<>();
+    private long commands;
+    private long driverNanos;
+    private long payloadChars;
+
+    StepMetrics(String step) {
+        this.step = step;
+    }
+
+    void record(String command, long nanos, long payload) {
+        commands++;
+        driverNanos += nanos;
+        payloadChars += payload;
+
+        CommandStats stats = byCommand.computeIfAbsent(command, name -> new CommandStats());
+        stats.count++;
+        stats.nanos += nanos;
+        stats.payloadChars += payload;
+    }
+
+    /** Counts one command against a @CommandBudget page-object method active on the stack. */
+    void recordBudgetedMethod(String method) {
+        byBudgetedMethod.merge(method, 1L, Long::sum);
+    }
+
+    public String step() {
+        return step;
+    }
+
+    public long commands() {
+        return commands;
+    }
+
+    public long driverNanos() {
+        return driverNanos;
+    }
+
+    public long payloadChars() {
+        return payloadChars;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public Map<String, CommandStats> byCommand() {
+        return byCommand;
+    }
+
+    /** Commands made inside each @CommandBudget page-object method (Class.method) during the step. */
+    public Map<String, Long> byBudgetedMethod() {
+        return byBudgetedMethod;
+    }
+}
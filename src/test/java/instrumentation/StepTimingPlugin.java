@@ -0,0 +1,235 @@
+package instrumentation;
+
+import base.BackendRouter;
+import base.TestBase;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import regression.RegressionGate;
+import sharding.ScenarioTimings;
+import trace.Trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cucumber plugin reporting, per step definition (and hook), the wall time, the number of
+ * WebDriver commands and how the time splits between the driver (waiting on the browser) and
+ * Java (framework/page-object code). Commands are attributed through StepContext by
+ * CommandTimingListener, which decorates every driver created by TestBase.
+ * <p>
+ * The table is logged and written at the end of the run to target/step-timings.txt, or to the
+ * file given as plugin argument (e.g. "instrumentation.StepTimingPlugin:target/forks/fork-0/step-timings.txt").
+ * The raw totals go to step-timings.tsv next to it, so the fork launcher can merge the forks'
+ * totals into one table for the whole run (merge).
+ * <p>
+ * It is the only driver of StepContext, CommandBudgets and regression.RegressionGate: step
+ * boundaries, command budgets, the command-budgets report and the regression gate all work
+ * only while this plugin is registered.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    static final Path REPORT = Path.of("target", "step-timings.txt");
+
+    /** Raw totals written next to the table, one step per line, tab-separated; see merge. */
+    public static final String DATA_FILE = "step-timings.tsv";
+
+    private static final int TOP_COMMANDS = 3;
+
+    /** Totals for one step definition over all its executions. */
+    private static final class StepTotals {
+        long executions;
+        long wallNanos;
+        long driverNanos;
+        long commands;
+        long maxCommands;
+        long payloadChars;
+        final Map<String, Long> commandCounts = new HashMap<>();
+
+        synchronized void add(StepMetrics metrics, long wall) {
+            executions++;
+            wallNanos += wall;
+            driverNanos += metrics.driverNanos();
+            commands += metrics.commands();
+            maxCommands = Math.max(maxCommands, metrics.commands());
+            payloadChars += metrics.payloadChars();
+            metrics.byCommand().forEach((name, stats) -> commandCounts.merge(name, stats.count(), Long::sum));
+        }
+
+        /** Adds a fork's totals, as written by {@link #toData()}. */
+        synchronized void add(String[] fields) {
+            executions += Long.parseLong(fields[1]);
+            wallNanos += Long.parseLong(fields[2]);
+            driverNanos += Long.parseLong(fields[3]);
+            commands += Long.parseLong(fields[4]);
+            maxCommands = Math.max(maxCommands, Long.parseLong(fields[5]));
+            payloadChars += Long.parseLong(fields[6]);
+            if (fields.length > 7 && !fields[7].isEmpty()) {
+                for (String count : fields[7].split(",")) {
+                    int separator = count.lastIndexOf('=');
+                    commandCounts.merge(count.substring(0, separator), Long.parseLong(count.substring(separator + 1)), Long::sum);
+                }
+            }
+        }
+
+        synchronized String toData() {
+            return String.join("\t", String.valueOf(executions), String.valueOf(wallNanos), String.valueOf(driverNanos),
+                    String.valueOf(commands), String.valueOf(maxCommands), String.valueOf(payloadChars),
+                    commandCounts.entrySet().stream().map(entry -> entry.getKey() + "=" + entry.getValue()).collect(Collectors.joining(",")));
+        }
+    }
+
+    private final Map<String, StepTotals> totals = new ConcurrentHashMap<>();
+    private final Path report;
+
+    public StepTimingPlugin() {
+        this(REPORT.toFile());
+    }
+
+    public StepTimingPlugin(File report) {
+        this.report = report.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> RegressionGate.onScenarioFinished(
+                ScenarioTimings.keyOf(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine()),
+                event.getTestCase().getName(), event.getResult().getDuration().toNanos(),
+                event.getResult().getStatus() == Status.PASSED));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> {
+            writeReport(totals, report);
+            writeData(totals, report.resolveSibling(DATA_FILE));
+            CommandBudgets.writeReport(report.toAbsolutePath().getParent());
+            RegressionGate.evaluate(report.toAbsolutePath().getParent());
+        });
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        String step = label(event.getTestStep());
+        StepContext.begin(step);
+        Trace.stepBegin(step);
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        StepMetrics metrics = StepContext.end();
+        if (metrics == null) return;
+        long wall = event.getResult().getDuration().toNanos();
+        Trace.step(metrics.step(), Trace.now() - wall, wall, event.getResult().getStatus() == Status.FAILED);
+        totals.computeIfAbsent(metrics.step(), step -> new StepTotals()).add(metrics, wall);
+        RegressionGate.onStepFinished(metrics.step(), wall, metrics.commands(), event.getResult().getStatus() == Status.PASSED);
+
+        if (event.getTestStep() instanceof PickleStepTestStep pickleStep) {
+            CommandBudgets.onStepFinished(pickleStep, metrics, event.getTestCase().getName(),
+                    BackendRouter.browserFor(event.getTestCase().getTags()), event.getResult().getStatus() == Status.PASSED);
+        }
+    }
+
+    /** Steps are grouped by their step definition pattern, so outline rows share one line. */
+    static String label(TestStep step) {
+        if (step instanceof PickleStepTestStep pickleStep) {
+            return pickleStep.getPattern();
+        }
+        if (step instanceof HookTestStep hook) {
+            String location = hook.getCodeLocation();
+            int parameters = location.indexOf('(');
+            return hook.getHookType() + " hook " + (parameters > 0 ? location.substring(0, parameters) : location);
+        }
+        return step.getCodeLocation();
+    }
+
+    /** Writes one table for the steps of all the given forks' data files; missing files are skipped. */
+    public static void merge(List<Path> dataFiles, Path report) {
+        Map<String, StepTotals> merged = new HashMap<>();
+        for (Path file : dataFiles) {
+            if (!Files.exists(file)) continue;
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    String[] fields = line.split("\t", -1);
+                    merged.computeIfAbsent(fields[0], step -> new StepTotals()).add(fields);
+                }
+            } catch (IOException e) {
+                TestBase.logger.error("Failed to read step timings from {}: {}", file, e.getMessage());
+            }
+        }
+        writeReport(merged, report);
+    }
+
+    private static void writeData(Map<String, StepTotals> totals, Path file) {
+        if (totals.isEmpty()) return;
+
+        StringBuilder data = new StringBuilder();
+        // Step labels are patterns or hook names, without tabs or line breaks
+        totals.forEach((step, stepTotals) -> data.append(step).append('\t').append(stepTotals.toData()).append('\n'));
+        try {
+            Files.writeString(file, data, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write step timings to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeReport(Map<String, StepTotals> totals, Path report) {
+        if (totals.isEmpty()) return;
+
+        StringBuilder table = new StringBuilder("Step timings (wall = driver + java; java includes framework code and WebDriverWait polling sleeps)\n");
+        table.append(String.format(Locale.ROOT, "%-5s %10s %10s %10s %8s %8s %8s %10s  %-60s %s%n",
+                "runs", "wall ms", "driver ms", "java ms", "cmds", "cmd/run", "max cmd", "payload", "step", "top commands"));
+
+        List<Map.Entry<String, StepTotals>> rows = totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, StepTotals> entry) -> entry.getValue().wallNanos).reversed())
+                .toList();
+        for (Map.Entry<String, StepTotals> row : rows) {
+            StepTotals step = row.getValue();
+            synchronized (step) {
+                table.append(String.format(Locale.ROOT, "%-5d %10.1f %10.1f %10.1f %8d %8.1f %8d %10d  %-60s %s%n",
+                        step.executions,
+                        step.wallNanos / 1e6,
+                        step.driverNanos / 1e6,
+                        Math.max(0, step.wallNanos - step.driverNanos) / 1e6,
+                        step.commands,
+                        (double) step.commands / step.executions,
+                        step.maxCommands,
+                        step.payloadChars,
+                        row.getKey(),
+                        topCommands(step.commandCounts)));
+            }
+        }
+
+        TestBase.logger.info("\n{}", table);
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            Files.writeString(report, table, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write step timings to {}: {}", report, e.getMessage());
+        }
+    }
+
+    private static String topCommands(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_COMMANDS)
+                .map(entry -> entry.getKey() + " x" + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
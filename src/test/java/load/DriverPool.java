@@ -0,0 +1,135 @@
+package load;
+
+import base.TestBase;
+import metrics.FrameworkMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of browser sessions shared by the virtual users.
+ * Sessions are created lazily up to the pool size; when all are in use,
+ * callers block until one is released. A session that failed during a journey
+ * is quit and replaced instead of being handed to the next user.
+ */
+public class DriverPool implements AutoCloseable {
+
+    private static final Logger logger = TestBase.logger;
+
+    /** Clears web storage between journeys (the public site keeps the cart in localStorage). */
+    public static final String RESET_STORAGE_SCRIPT = "window.localStorage.clear(); window.sessionStorage.clear();";
+
+    private final int maxSize;
+    private final Supplier<WebDriver> factory;
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final List<WebDriver> all = new CopyOnWriteArrayList<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public DriverPool(int maxSize, Supplier<WebDriver> factory) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1 but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.factory = factory;
+        FrameworkMetrics.trackPool(this::waitingCount, this::size);
+    }
+
+    /** Borrows a session, creating one if the pool has not reached its size yet. */
+    public WebDriver acquire() throws InterruptedException {
+        while (true) {
+            WebDriver driver = idle.poll();
+            if (driver != null) {
+                return driver;
+            }
+
+            if (created.incrementAndGet() <= maxSize) {
+                try {
+                    driver = factory.get();
+                    all.add(driver);
+                    return driver;
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+            created.decrementAndGet();
+
+            // Poll rather than block forever: a discarded session frees a slot without
+            // putting anything back on the idle queue.
+            waiting.incrementAndGet();
+            try {
+                driver = idle.poll(1, TimeUnit.SECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (driver != null) {
+                return driver;
+            }
+        }
+    }
+
+    /**
+     * Returns a session to the pool. Healthy sessions are reset (cookies + storage) so the
+     * next journey starts logged out with an empty cart; broken sessions are replaced.
+     */
+    public void release(WebDriver driver, boolean healthy) {
+        if (healthy) {
+            try {
+                if (driver instanceof JavascriptExecutor js) {
+                    js.executeScript(RESET_STORAGE_SCRIPT);
+                }
+                driver.manage().deleteAllCookies();
+                idle.add(driver);
+                return;
+            } catch (Exception e) {
+                logger.warn("Could not reset pooled session, replacing it: {}", e.getMessage());
+            }
+        }
+        discard(driver);
+    }
+
+    /** Number of virtual users currently blocked waiting for a session. */
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    /** Number of live sessions owned by the pool. */
+    public int size() {
+        return created.get();
+    }
+
+    private void discard(WebDriver driver) {
+        all.remove(driver);
+        created.decrementAndGet();
+        try {
+            driver.quit();
+            FrameworkMetrics.sessionClosed();
+        } catch (Exception e) {
+            logger.warn("Failed to quit discarded session: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        for (WebDriver driver : all) {
+            try {
+                driver.quit();
+                FrameworkMetrics.sessionClosed();
+            } catch (Exception e) {
+                logger.warn("Failed to quit pooled session: {}", e.getMessage());
+            }
+        }
+        all.clear();
+        idle.clear();
+        created.set(0);
+    }
+}
@@ -0,0 +1,102 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe per-step latency recording backed by HdrHistogram.
+ * Latencies are stored in microseconds with 3 significant digits, up to 10 minutes,
+ * so percentiles stay accurate without keeping every sample in memory.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> order = new LinkedHashMap<>();
+
+    /** Records a successful execution of the named step. */
+    public void record(String step, long elapsedNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        histogramFor(step).recordValue(micros);
+    }
+
+    /** Records a failed execution of the named step (not included in the latency percentiles). */
+    public void recordFailure(String step) {
+        histogramFor(step);
+        failures.computeIfAbsent(step, k -> new LongAdder()).increment();
+    }
+
+    public long count(String step) {
+        Histogram histogram = histograms.get(step);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    public long failures(String step) {
+        LongAdder adder = failures.get(step);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /** Value at the given percentile in milliseconds. */
+    public double percentileMillis(String step, double percentile) {
+        Histogram histogram = histograms.get(step);
+        if (histogram == null || histogram.getTotalCount() == 0) return 0;
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double meanMillis(String step) {
+        Histogram histogram = histograms.get(step);
+        if (histogram == null || histogram.getTotalCount() == 0) return 0;
+        return histogram.getMean() / 1000.0;
+    }
+
+    public double maxMillis(String step) {
+        Histogram histogram = histograms.get(step);
+        if (histogram == null || histogram.getTotalCount() == 0) return 0;
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    /** Appends the per-step table (count, failures, mean and percentiles in ms) to a report. */
+    public void appendTable(StringBuilder sb) {
+        sb.append("%-58s %7s %6s %9s %9s %9s %9s %9s%n".formatted(
+                "Step", "count", "fail", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+
+        for (String step : steps()) {
+            sb.append("%-58s %7d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n".formatted(
+                    step,
+                    count(step),
+                    failures(step),
+                    meanMillis(step),
+                    percentileMillis(step, 50),
+                    percentileMillis(step, 90),
+                    percentileMillis(step, 99),
+                    maxMillis(step)));
+        }
+    }
+
+    /** Step names in the order they were first recorded (journey order). */
+    public Iterable<String> steps() {
+        synchronized (order) {
+            return List.copyOf(order.keySet());
+        }
+    }
+
+    private Histogram histogramFor(String step) {
+        Histogram histogram = histograms.get(step);
+        if (histogram != null) return histogram;
+
+        synchronized (order) {
+            order.putIfAbsent(step, Boolean.TRUE);
+            return histograms.computeIfAbsent(step, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package load;
+
+import configuration.ReadConfig;
+
+/**
+ * Immutable description of a load run.
+ * Values come from config.properties and can be overridden with environment variables
+ * (LOAD_USERS, LOAD_ITERATIONS, ...) in the same way BROWSER/HEADLESS override TestBase.
+ *
+ * @param users           number of concurrent virtual users
+ * @param iterations      journeys per virtual user; 0 means "run for durationSeconds"
+ * @param durationSeconds run length when iterations is 0
+ * @param rampUpSeconds   time over which the virtual users are started (linear)
+ * @param poolSize        maximum number of browser sessions shared by the virtual users
+ */
+public record LoadProfile(int users,
+                          int iterations,
+                          int durationSeconds,
+                          int rampUpSeconds,
+                          int poolSize,
+                          String username,
+                          String password) {
+
+    public static LoadProfile fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        return new LoadProfile(
+                env("LOAD_USERS", config.getLoadUsers()),
+                env("LOAD_ITERATIONS", config.getLoadIterations()),
+                env("LOAD_DURATION_SECONDS", config.getLoadDurationSeconds()),
+                env("LOAD_RAMP_UP_SECONDS", config.getLoadRampUpSeconds()),
+                env("LOAD_POOL_SIZE", config.getLoadPoolSize()),
+                System.getenv().getOrDefault("LOAD_USERNAME", config.getLoadUsername()),
+                System.getenv().getOrDefault("LOAD_PASSWORD", config.getLoadPassword())
+        );
+    }
+
+    /** True when the run is bounded by iteration count rather than wall time. */
+    public boolean isIterationBound() {
+        return iterations > 0;
+    }
+
+    /** Delay before the given (0-based) virtual user starts. */
+    public long startDelayMillis(int userIndex) {
+        if (users <= 1) return 0;
+        return rampUpSeconds * 1000L * userIndex / users;
+    }
+
+    private static int env(String name, int defaultValue) {
+        return Integer.parseInt(System.getenv().getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
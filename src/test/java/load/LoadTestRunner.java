@@ -0,0 +1,141 @@
+package load;
+
+import base.TestBase;
+import metrics.FrameworkMetrics;
+import metrics.MetricsServer;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import server.SauceDemoStubServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the SauceDemo journey as N concurrent virtual users (capacity check).
+ * Each virtual user is a thread that borrows a headless session from a bounded
+ * DriverPool, binds it to itself through TestBase, and executes SauceDemoJourney.
+ * Run with:
+ * <pre>
+ *     mvn -Pload test-compile exec:java
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    static final Logger logger = TestBase.logger;
+
+    private static final Path REPORT_PATH = Path.of("target", "load-report.txt");
+
+    private final LoadProfile profile;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicLong passedJourneys = new AtomicLong();
+    private final AtomicLong failedJourneys = new AtomicLong();
+
+    public LoadTestRunner(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.fromConfig();
+        SauceDemoStubServer.startIfEnabled();
+        MetricsServer.startIfEnabled();
+        String report;
+        try {
+            report = new LoadTestRunner(profile).run();
+        } finally {
+            SauceDemoStubServer.stopShared();
+            MetricsServer.stop();
+            FrameworkMetrics.dump(FrameworkMetrics.defaultFile());
+        }
+
+        System.out.println(report);
+        writeReport(REPORT_PATH, report);
+    }
+
+    /**
+     * Executes the load profile and returns the formatted report.
+     */
+    public String run() throws InterruptedException {
+        String browser = TestBase.configuredBrowser();
+        logger.info("Starting load run: {}", profile);
+
+        long start = System.nanoTime();
+        long deadline = start + profile.durationSeconds() * 1_000_000_000L;
+
+        ExecutorService users = Executors.newFixedThreadPool(profile.users());
+        try (DriverPool pool = new DriverPool(profile.poolSize(), () -> TestBase.createDriver(browser, true))) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < profile.users(); i++) {
+                final int userIndex = i;
+                futures.add(users.submit(() -> virtualUser(userIndex, pool, deadline)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    logger.error("Virtual user terminated abnormally: {}", e.getMessage(), e);
+                }
+            }
+        } finally {
+            users.shutdownNow();
+        }
+
+        return report(System.nanoTime() - start);
+    }
+
+    private Void virtualUser(int userIndex, DriverPool pool, long deadline) throws InterruptedException {
+        // Ramp-up: users start linearly spread over rampUpSeconds
+        Thread.sleep(profile.startDelayMillis(userIndex));
+        SauceDemoJourney journey = new SauceDemoJourney(profile.username(), profile.password());
+
+        int iteration = 0;
+        while (profile.isIterationBound() ? iteration < profile.iterations() : System.nanoTime() < deadline) {
+            iteration++;
+            WebDriver driver = pool.acquire();
+            boolean passed = false;
+            try {
+                TestBase.bindDriver(driver);
+                passed = journey.run(recorder);
+            } finally {
+                TestBase.unbindDriver();
+                pool.release(driver, passed);
+            }
+
+            if (passed) {
+                passedJourneys.incrementAndGet();
+            } else {
+                failedJourneys.incrementAndGet();
+            }
+        }
+        return null;
+    }
+
+    private String report(long elapsedNanos) {
+        double elapsedMinutes = elapsedNanos / 60_000_000_000.0;
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("==================== LOAD TEST REPORT ====================\n");
+        sb.append("Virtual users: %d | pool size: %d | ramp-up: %ds | %s%n".formatted(
+                profile.users(), profile.poolSize(), profile.rampUpSeconds(),
+                profile.isIterationBound()
+                        ? profile.iterations() + " iterations/user"
+                        : profile.durationSeconds() + "s duration"));
+        sb.append("Elapsed: %.1fs | journeys passed: %d | failed: %d | throughput: %.2f journeys/min%n".formatted(
+                elapsedNanos / 1_000_000_000.0, passedJourneys.get(), failedJourneys.get(),
+                elapsedMinutes > 0 ? passedJourneys.get() / elapsedMinutes : 0));
+        sb.append('\n');
+        recorder.appendTable(sb);
+        return sb.toString();
+    }
+
+    static void writeReport(Path path, String report) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, report);
+    }
+}
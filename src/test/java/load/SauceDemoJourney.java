@@ -0,0 +1,84 @@
+package load;
+
+import stepdefinitions.SauceDemoSteps;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The saucedemo.feature journey expressed as an ordered list of the SAME step definitions
+ * the Cucumber suite uses, so load runs exercise the real page objects and assertions.
+ * Each step is timed individually; the first failing step ends the journey.
+ */
+public class SauceDemoJourney {
+
+    public static final String TOTAL = "journey (total)";
+
+    /** A named step of the journey. */
+    private record Step(String name, Consumer<SauceDemoSteps> action) {}
+
+    private final List<Step> steps;
+
+    /** The full UI journey: login, highest priced item, add to cart, verify the cart. */
+    public SauceDemoJourney(String username, String password) {
+        this(List.of(
+                new Step("I navigate to the login page", SauceDemoSteps::iNavigateToTheLoginPage),
+                new Step("I login with username and password", s -> s.iLoginWithUsernameAndPassword(username, password)),
+                new Step("I select the highest priced item without using sort",
+                        SauceDemoSteps::iSelectTheHighestPricedItemWithoutUsingSort),
+                new Step("I add the selected item to the cart", SauceDemoSteps::iAddTheSelectedItemToTheCart),
+                new Step("the cart should contain the selected highest priced item",
+                        SauceDemoSteps::theCartShouldContainTheSelectedHighestPricedItem)));
+    }
+
+    private SauceDemoJourney(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    /** Cart check for a given item: cached login, seeded cart, verify the cart page. */
+    public static SauceDemoJourney withSeededCart(String username, String password, String itemName) {
+        return new SauceDemoJourney(List.of(
+                new Step("I am logged in as", s -> s.iAmLoggedInAs(username, password)),
+                new Step("the cart contains the item", s -> s.theCartContainsTheItem(itemName)),
+                new Step("the cart should contain the item", s -> s.theCartShouldContainTheItem(itemName))));
+    }
+
+    /**
+     * Runs the journey on the driver bound to the current thread (see TestBase.bindDriver).
+     *
+     * @return true when every step passed
+     */
+    public boolean run(LatencyRecorder recorder) {
+        SauceDemoSteps stepDefinitions = new SauceDemoSteps();
+        long journeyStart = System.nanoTime();
+
+        boolean passed = true;
+        for (Step step : steps) {
+            if (!time(recorder, step.name(), stepDefinitions, step.action())) {
+                passed = false;
+                break;
+            }
+        }
+
+        if (passed) {
+            recorder.record(TOTAL, System.nanoTime() - journeyStart);
+        } else {
+            recorder.recordFailure(TOTAL);
+        }
+        return passed;
+    }
+
+    private boolean time(LatencyRecorder recorder, String name, SauceDemoSteps steps, Consumer<SauceDemoSteps> step) {
+        long start = System.nanoTime();
+        try {
+            step.accept(steps);
+            recorder.record(name, System.nanoTime() - start);
+            return true;
+        } catch (Throwable t) {
+            // AssertionError from step assertions as well as RuntimeException from ActionMethods
+            recorder.recordFailure(name);
+            LoadTestRunner.logger.warn("Load journey step failed '{}': {}", name, t.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package metrics;
+
+import configuration.ReadConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntSupplier;
+
+/**
+ * Run metrics of the framework, recorded from TestBase, the behaviour helpers, ScreenshotUtil,
+ * DriverPool and MetricsPlugin, and exposed in OpenMetrics text format (MetricsServer and the
+ * end-of-run dump).
+ */
+public final class FrameworkMetrics {
+
+    private static final double[] LAUNCH_BUCKETS = {0.01, 0.05, 0.1, 0.5, 1, 2.5, 5, 10, 30, 60};
+    private static final double[] MEMORY_BUCKETS = {32e6, 64e6, 128e6, 256e6, 512e6, 1e9, 2e9, 4e9};
+    private static final double[] STEP_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private static final MetricRegistry registry = new MetricRegistry();
+
+    private static final MetricRegistry.Counter driverLaunches = registry.counter(
+            "saucedemo_driver_launches", "WebDriver sessions created by TestBase.createDriver", "browser");
+    private static final MetricRegistry.Counter driverLaunchFailures = registry.counter(
+            "saucedemo_driver_launch_failures", "WebDriver session creations that failed", "browser");
+    private static final MetricRegistry.Histogram driverLaunchSeconds = registry.histogram(
+            "saucedemo_driver_launch_seconds", "Time to create and configure a WebDriver session", LAUNCH_BUCKETS, "browser");
+    private static final MetricRegistry.Histogram browserContextSeconds = registry.histogram(
+            "saucedemo_browser_context_seconds", "Time to create a per-scenario browser context", STEP_BUCKETS, "browser");
+    private static final MetricRegistry.Gauge activeSessions = registry.gauge(
+            "saucedemo_active_sessions", "WebDriver sessions created and not yet quit");
+    private static final MetricRegistry.Histogram sessionMemoryBytes = registry.histogram(
+            "saucedemo_session_memory_bytes", "Resident memory of a session's local driver and browser processes", MEMORY_BUCKETS, "browser");
+    private static final MetricRegistry.Histogram stepSeconds = registry.histogram(
+            "saucedemo_step_duration_seconds", "Duration of Cucumber steps by step text", STEP_BUCKETS, "step");
+    private static final MetricRegistry.Counter steps = registry.counter(
+            "saucedemo_steps", "Cucumber steps finished by status", "status");
+    private static final MetricRegistry.Counter scenarios = registry.counter(
+            "saucedemo_scenarios", "Scenarios finished by status", "status");
+    private static final MetricRegistry.Counter waitTimeouts = registry.counter(
+            "saucedemo_wait_timeouts", "Explicit waits that timed out in the behaviour helpers", "helper");
+    private static final MetricRegistry.Counter hungCommands = registry.counter(
+            "saucedemo_hung_commands", "WebDriver commands aborted by the command watchdog", "browser");
+    private static final MetricRegistry.Counter screenshots = registry.counter(
+            "saucedemo_screenshots", "Screenshots written by ScreenshotUtil");
+    private static final MetricRegistry.Counter sessionCacheLookups = registry.counter(
+            "saucedemo_session_cache_lookups", "Cached-login lookups by result (hit, miss, rejected)", "result");
+    private static final MetricRegistry.Gauge poolWaiting = registry.gauge(
+            "saucedemo_pool_waiting", "Virtual users blocked waiting for a pooled session");
+    private static final MetricRegistry.Gauge poolSessions = registry.gauge(
+            "saucedemo_pool_sessions", "Live sessions owned by the load-test driver pool");
+
+    static {
+        // Shown as 0 from the first scrape rather than missing until the first session
+        activeSessions.add(0);
+    }
+
+    private FrameworkMetrics() {}
+
+    public static void driverLaunched(String browser, long nanos) {
+        driverLaunches.inc(browser);
+        driverLaunchSeconds.observeNanos(nanos, browser);
+        activeSessions.add(1);
+    }
+
+    public static void driverLaunchFailed(String browser) {
+        driverLaunchFailures.inc(browser);
+    }
+
+    public static void browserContextCreated(String browser, long nanos) {
+        browserContextSeconds.observeNanos(nanos, browser);
+    }
+
+    public static void sessionClosed() {
+        activeSessions.add(-1);
+    }
+
+    public static void sessionMemory(String browser, long bytes) {
+        sessionMemoryBytes.observe(bytes, browser);
+    }
+
+    public static void stepFinished(String step, String status, long nanos) {
+        stepSeconds.observeNanos(nanos, step);
+        steps.inc(status);
+    }
+
+    public static void scenarioFinished(String status) {
+        scenarios.inc(status);
+    }
+
+    public static void waitTimedOut(String helper) {
+        waitTimeouts.inc(helper);
+    }
+
+    public static void commandHung(String browser) {
+        hungCommands.inc(browser);
+    }
+
+    public static void screenshotWritten() {
+        screenshots.inc();
+    }
+
+    public static void sessionCacheLookup(String result) {
+        sessionCacheLookups.inc(result);
+    }
+
+    /** Exposes the queue depth and size of a DriverPool (replaces a previously tracked pool). */
+    public static void trackPool(IntSupplier waiting, IntSupplier sessions) {
+        poolWaiting.track(waiting::getAsInt);
+        poolSessions.track(sessions::getAsInt);
+    }
+
+    /** All metrics in OpenMetrics text format. */
+    public static String scrape() {
+        return registry.scrape();
+    }
+
+    /** End-of-run dump file (METRICS_FILE overrides metricsFile). */
+    public static Path defaultFile() {
+        return Path.of(System.getenv().getOrDefault("METRICS_FILE", ReadConfig.getInstance().getMetricsFile()));
+    }
+
+    public static void dump(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, scrape(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write metrics to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal thread-safe metric registry (counters, gauges, histograms with labels) rendered in
+ * the OpenMetrics text format. Small on purpose: the framework only needs a handful of
+ * metrics and no client library dependency.
+ */
+public final class MetricRegistry {
+
+    /** Common shape of a metric family. */
+    private abstract static sealed class Family permits Counter, Gauge, Histogram {
+        final String name;
+        final String help;
+        final String[] labelNames;
+
+        Family(String name, String help, String... labelNames) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames;
+        }
+
+        abstract String type();
+
+        abstract void render(StringBuilder out);
+
+        /** Label values are keyed by their list; sorted so the output is stable. */
+        static List<String> key(String[] labelNames, String... labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException("Expected labels " + Arrays.toString(labelNames)
+                        + " but got " + Arrays.toString(labelValues));
+            }
+            return List.of(labelValues);
+        }
+
+        String labels(List<String> values, String extraName, String extraValue) {
+            List<String> pairs = new ArrayList<>();
+            for (int i = 0; i < labelNames.length; i++) {
+                pairs.add(labelNames[i] + "=\"" + escape(values.get(i)) + "\"");
+            }
+            if (extraName != null) {
+                pairs.add(extraName + "=\"" + extraValue + "\"");
+            }
+            return pairs.isEmpty() ? "" : "{" + String.join(",", pairs) + "}";
+        }
+    }
+
+    /** Monotonic counter; exposed as {@code <name>_total}. */
+    public static final class Counter extends Family {
+        private final Map<List<String>, LongAdder> values = new ConcurrentSkipListMap<>(MetricRegistry::compare);
+
+        Counter(String name, String help, String... labelNames) {
+            super(name, help, labelNames);
+            if (labelNames.length == 0) {
+                // An unlabelled counter is exposed as 0 before its first increment
+                values.put(List.of(), new LongAdder());
+            }
+        }
+
+        public void inc(String... labelValues) {
+            values.computeIfAbsent(key(labelNames, labelValues), k -> new LongAdder()).increment();
+        }
+
+        @Override
+        String type() {
+            return "counter";
+        }
+
+        @Override
+        void render(StringBuilder out) {
+            values.forEach((labels, value) ->
+                    out.append(name).append("_total").append(labels(labels, null, null)).append(' ').append(value.sum()).append('\n'));
+        }
+    }
+
+    /** Value that goes up and down, either set directly or read from a supplier at scrape time. */
+    public static final class Gauge extends Family {
+        private final Map<List<String>, AtomicLong> values = new ConcurrentSkipListMap<>(MetricRegistry::compare);
+        private final Map<List<String>, LongSupplier> suppliers = new ConcurrentSkipListMap<>(MetricRegistry::compare);
+
+        Gauge(String name, String help, String... labelNames) {
+            super(name, help, labelNames);
+        }
+
+        public void add(long delta, String... labelValues) {
+            values.computeIfAbsent(key(labelNames, labelValues), k -> new AtomicLong()).addAndGet(delta);
+        }
+
+        /** Reads the value from the supplier on every scrape (replaces an earlier supplier). */
+        public void track(LongSupplier supplier, String... labelValues) {
+            suppliers.put(key(labelNames, labelValues), supplier);
+        }
+
+        public void untrack(String... labelValues) {
+            suppliers.remove(key(labelNames, labelValues));
+        }
+
+        @Override
+        String type() {
+            return "gauge";
+        }
+
+        @Override
+        void render(StringBuilder out) {
+            values.forEach((labels, value) ->
+                    out.append(name).append(labels(labels, null, null)).append(' ').append(value.get()).append('\n'));
+            suppliers.forEach((labels, supplier) ->
+                    out.append(name).append(labels(labels, null, null)).append(' ').append(supplier.getAsLong()).append('\n'));
+        }
+    }
+
+    /** Fixed-bucket histogram (seconds or bytes, per the metric's unit). */
+    public static final class Histogram extends Family {
+        private final double[] buckets;
+        private final Map<List<String>, Series> series = new ConcurrentSkipListMap<>(MetricRegistry::compare);
+
+        private static final class Series {
+            final LongAdder[] counts;
+            final LongAdder count = new LongAdder();
+            final DoubleAdder sum = new DoubleAdder();
+
+            Series(int buckets) {
+                counts = new LongAdder[buckets];
+                for (int i = 0; i < buckets; i++) counts[i] = new LongAdder();
+            }
+        }
+
+        Histogram(String name, String help, double[] buckets, String... labelNames) {
+            super(name, help, labelNames);
+            this.buckets = buckets.clone();
+        }
+
+        public void observeNanos(long nanos, String... labelValues) {
+            observe(nanos / 1e9, labelValues);
+        }
+
+        public void observe(double value, String... labelValues) {
+            Series values = series.computeIfAbsent(key(labelNames, labelValues), k -> new Series(buckets.length));
+            for (int i = 0; i < buckets.length; i++) {
+                if (value <= buckets[i]) {
+                    values.counts[i].increment();
+                    break;
+                }
+            }
+            values.count.increment();
+            values.sum.add(value);
+        }
+
+        @Override
+        String type() {
+            return "histogram";
+        }
+
+        @Override
+        void render(StringBuilder out) {
+            series.forEach((labels, values) -> {
+                long cumulative = 0;
+                for (int i = 0; i < buckets.length; i++) {
+                    cumulative += values.counts[i].sum();
+                    out.append(name).append("_bucket").append(labels(labels, "le", format(buckets[i])))
+                            .append(' ').append(cumulative).append('\n');
+                }
+                long count = values.count.sum();
+                out.append(name).append("_bucket").append(labels(labels, "le", "+Inf")).append(' ').append(count).append('\n');
+                out.append(name).append("_count").append(labels(labels, null, null)).append(' ').append(count).append('\n');
+                out.append(name).append("_sum").append(labels(labels, null, null)).append(' ')
+                        .append(format(values.sum.sum())).append('\n');
+            });
+        }
+    }
+
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+    private final List<String> order = new CopyOnWriteArrayList<>();
+
+    public Counter counter(String name, String help, String... labelNames) {
+        return register(new Counter(name, help, labelNames));
+    }
+
+    public Gauge gauge(String name, String help, String... labelNames) {
+        return register(new Gauge(name, help, labelNames));
+    }
+
+    public Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+        return register(new Histogram(name, help, buckets, labelNames));
+    }
+
+    /** The whole registry in OpenMetrics text format, terminated by "# EOF". */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (String name : order) {
+            Family family = families.get(name);
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type()).append('\n');
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            family.render(out);
+        }
+        return out.append("# EOF\n").toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Family> T register(T family) {
+        Family existing = families.putIfAbsent(family.name, family);
+        if (existing != null) {
+            return (T) existing;
+        }
+        order.add(family.name);
+        return family;
+    }
+
+    private static int compare(List<String> left, List<String> right) {
+        for (int i = 0; i < Math.min(left.size(), right.size()); i++) {
+            int result = left.get(i).compareTo(right.get(i));
+            if (result != 0) return result;
+        }
+        return Integer.compare(left.size(), right.size());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value)
+                ? String.format(Locale.ROOT, "%.1f", value)
+                : Double.toString(value);
+    }
+}
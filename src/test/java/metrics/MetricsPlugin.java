@@ -0,0 +1,55 @@
+package metrics;
+
+import base.TestBase;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Cucumber plugin feeding step and scenario results into FrameworkMetrics, starting the live
+ * MetricsServer (when enabled) for the duration of the run and dumping all metrics at the end
+ * to target/metrics.txt, or to the file given as plugin argument (e.g. "metrics.MetricsPlugin:target/forks/fork-0/metrics.txt").
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+
+    private final Path file;
+
+    public MetricsPlugin() {
+        this.file = FrameworkMetrics.defaultFile();
+    }
+
+    public MetricsPlugin(File file) {
+        this.file = file.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> MetricsServer.startIfEnabled());
+        publisher.registerHandlerFor(TestStepFinished.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep step) {
+                FrameworkMetrics.stepFinished(step.getPattern(), status(event.getResult().getStatus()),
+                        event.getResult().getDuration().toNanos());
+            }
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class,
+                event -> FrameworkMetrics.scenarioFinished(status(event.getResult().getStatus())));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> {
+            FrameworkMetrics.dump(file);
+            TestBase.logger.info("Run metrics written to {}", file);
+            MetricsServer.stop();
+        });
+    }
+
+    private static String status(Status status) {
+        return status.name().toLowerCase(Locale.ROOT);
+    }
+}
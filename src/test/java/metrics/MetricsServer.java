@@ -0,0 +1,76 @@
+package metrics;
+
+import base.TestBase;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import configuration.ReadConfig;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves FrameworkMetrics on http://127.0.0.1:&lt;port&gt;/metrics (OpenMetrics text) while a run is
+ * in progress, so a Prometheus scrape or a curl can watch a long suite or load test live.
+ * Off by default: metricsEndpoint=true or METRICS_ENDPOINT=true; METRICS_PORT overrides metricsPort.
+ */
+public final class MetricsServer {
+
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final Logger logger = TestBase.logger;
+
+    private static HttpServer server;
+
+    private MetricsServer() {}
+
+    /** Starts the endpoint when enabled; a no-op if disabled or already running. */
+    public static synchronized void startIfEnabled() {
+        ReadConfig config = ReadConfig.getInstance();
+        boolean enabled = Boolean.parseBoolean(
+                System.getenv().getOrDefault("METRICS_ENDPOINT", String.valueOf(config.isMetricsEndpointEnabled())));
+        if (!enabled || server != null) {
+            return;
+        }
+        int port = Integer.parseInt(System.getenv().getOrDefault("METRICS_PORT", String.valueOf(config.getMetricsPort())));
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            // A busy port must not fail the run: the end-of-run dump is still written
+            logger.warn("Metrics endpoint not started on port {}: {}", port, e.getMessage());
+            return;
+        }
+        server.createContext("/metrics", MetricsServer::handle);
+        server.start();
+        logger.info("Metrics endpoint: http://127.0.0.1:{}/metrics", server.getAddress().getPort());
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = FrameworkMetrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package pages;
+
+import base.TestBase;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Seeds SauceDemo's client-side state directly instead of building it through the UI.
+ * Preconditions such as "a cart containing item X" cost one script call and one navigation
+ * instead of the inventory / details / add-to-cart / cart-icon interactions; the seeded state
+ * is verified on the landing page before the step continues.
+ * <p>
+ * The public site keeps the cart in localStorage 'cart-contents' (a JSON array of item ids), which
+ * is what this class writes. Backends that keep it elsewhere (the stub replica reads a cookie)
+ * register a {@link CartStore} for the drivers they serve. The user must already be logged in
+ * (storage and cookies need the application's origin).
+ */
+public class AppState {
+
+    /** Writes the cart (arguments[0]: JSON ids) and returns the stored value. */
+    private static final String SEED_CART_SCRIPT =
+            "window.localStorage.setItem('cart-contents', arguments[0]);"
+                    + " return window.localStorage.getItem('cart-contents');";
+
+    /** Products of the public site's catalog by name, with the ids used in its item URLs. */
+    private static final Map<String, Integer> ITEM_IDS = Map.of(
+            "Sauce Labs Backpack", 4,
+            "Sauce Labs Bike Light", 0,
+            "Sauce Labs Bolt T-Shirt", 1,
+            "Sauce Labs Fleece Jacket", 5,
+            "Sauce Labs Onesie", 2,
+            "Test.allTheThings() T-Shirt (Red)", 3);
+
+    /** Seeds the cart of a backend that does not keep it in localStorage. */
+    public interface CartStore {
+
+        /** Writes the cart for this driver and returns true, or returns false when the driver is not served by this backend. */
+        boolean seed(WebDriver driver, List<Integer> itemIds);
+    }
+
+    private static final List<CartStore> cartStores = new CopyOnWriteArrayList<>();
+
+    private final ProductsPage productsPage = new ProductsPage();
+
+    public static void registerCartStore(CartStore store) {
+        cartStores.add(store);
+    }
+
+    public static void unregisterCartStore(CartStore store) {
+        cartStores.remove(store);
+    }
+
+    /** Id of a product of the public site's catalog (the ids used in its item URLs). */
+    public static int itemId(String name) {
+        return Optional.ofNullable(ITEM_IDS.get(name))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown item: " + name));
+    }
+
+    /**
+     * Replaces the cart with the given item ids and opens the cart page.
+     *
+     * @throws IllegalStateException if the page does not show the seeded cart
+     */
+    public void openCartWith(List<Integer> itemIds) {
+        WebDriver driver = TestBase.getDriver();
+        if (cartStores.stream().noneMatch(store -> store.seed(driver, itemIds))) {
+            seedLocalStorage(driver, itemIds);
+        }
+
+        driver.get(URI.create(TestBase.getBaseUrl()).resolve("/cart.html").toString());
+
+        int badge = productsPage.getCartBadgeCount();
+        if (!driver.getCurrentUrl().contains("cart.html") || badge != itemIds.size()) {
+            throw new IllegalStateException("Seeded cart of " + itemIds.size() + " item(s) was not applied: landed on "
+                    + driver.getCurrentUrl() + " with cart badge " + badge);
+        }
+    }
+
+    private static void seedLocalStorage(WebDriver driver, List<Integer> itemIds) {
+        if (!(driver instanceof JavascriptExecutor js)) {
+            throw new IllegalStateException("Cannot seed the cart: the driver runs no JavaScript and no cart store serves it");
+        }
+        String json = itemIds.toString().replace(" ", "");
+        Object stored = js.executeScript(SEED_CART_SCRIPT, json);
+        if (!json.equals(stored)) {
+            throw new IllegalStateException("Cart was not written to localStorage: expected " + json + " but was " + stored);
+        }
+    }
+}
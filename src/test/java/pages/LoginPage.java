@@ -3,9 +3,11 @@ package pages;
 import base.TestBase;
 import behaviour.ActionMethods;
 import behaviour.GetMethods;
-import core.Constants;
 import org.openqa.selenium.By;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object representing the SauceDemo Login page.
  * This class contains:
@@ -50,19 +52,21 @@ public class LoginPage extends TestBase {
 
     /**
      * Navigates the browser to the application's base URL.
-     * URL is stored centrally (Constants) to avoid hardcoding.
+     * URL is resolved centrally (config / embedded stub server) to avoid hardcoding.
      */
     public void navigateToBaseUrl() {
-        TestBase.getDriver().get(Constants.URL);
+        TestBase.getDriver().get(TestBase.getBaseUrl());
     }
 
     /**
-     * Types the supplied credentials and clicks the login button.
+     * Fills in the supplied credentials and submits the login form
+     * (one script round trip, see ActionMethods.fillForm).
      */
     public void login(String username, String password) {
-        actionMethods.enterText(usernameLocator, username);
-        actionMethods.enterText(passwordLocator, password);
-        actionMethods.click(loginButtonLocator);
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameLocator, username);
+        credentials.put(passwordLocator, password);
+        actionMethods.fillForm(credentials, loginButtonLocator);
     }
 
     // ----------------------- Getters / Page State -----------------------
@@ -3,10 +3,13 @@ package pages;
 import base.TestBase;
 import behaviour.ActionMethods;
 import behaviour.GetMethods;
+import instrumentation.CommandBudget;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for SauceDemo Products/Inventory + Product Details + Cart.
@@ -57,10 +60,39 @@ public class ProductsPage {
     private final By itemInCartNameLocator = By.className("inventory_item_name");
     private final By itemInCartPriceLocator = By.className("inventory_item_price");
 
+    /** One row of the cart list. */
+    private final By cartItemLocator = By.cssSelector(".cart_list .cart_item");
+
     /** Remove button present when an item is in the cart. */
     private final By shoppingCartRemoveButtonLocator = By.xpath("//button[contains(text(), 'Remove')]");
 
-    // ----------------------- Value Object -----------------------
+    // ----------------------- Snapshot Scripts -----------------------
+
+    /** Details page fields in one round trip; null until the item name is rendered. */
+    private static final String DETAILS_STATE_SCRIPT =
+            "var name = document.querySelector('.inventory_details_name');"
+                    + " if (!name || name.getClientRects().length === 0) return null;"
+                    + " var price = document.querySelector('.inventory_details_price');"
+                    + " var add = document.querySelector('.inventory_details_desc_container button#add-to-cart');"
+                    + " return { name: name.innerText.trim(), price: price ? price.innerText.trim() : '',"
+                    + " addToCartVisible: !!add && add.getClientRects().length > 0 };";
+
+    /** Cart page fields in one round trip; null until the cart list is rendered. */
+    private static final String CART_STATE_SCRIPT =
+            "var list = document.querySelector('.cart_list'); if (!list) return null;"
+                    + " var title = document.querySelector('.title');"
+                    + " var badge = document.querySelector('.shopping_cart_badge');"
+                    + " var rows = list.querySelectorAll('.cart_item'), items = [];"
+                    + " for (var i = 0; i < rows.length; i++) {"
+                    + " var name = rows[i].querySelector('.inventory_item_name'), price = rows[i].querySelector('.inventory_item_price');"
+                    + " items.push({ name: name ? name.innerText.trim() : '', price: price ? price.innerText.trim() : '' }); }"
+                    + " var buttons = document.querySelectorAll('button'), remove = false;"
+                    + " for (var j = 0; j < buttons.length; j++) {"
+                    + " if (buttons[j].textContent.indexOf('Remove') >= 0 && buttons[j].getClientRects().length > 0) remove = true; }"
+                    + " return { title: title ? title.innerText.trim() : '', badge: badge ? badge.innerText.trim() : '',"
+                    + " removeButtonVisible: remove, items: items };";
+
+    // ----------------------- Value Objects -----------------------
 
     /**
      * Immutable container for the item we selected as "highest priced".
@@ -68,6 +100,21 @@ public class ProductsPage {
      */
     public record ProductInfo(int index, String name, double price) {}
 
+    /** One row of the cart. */
+    public record CartItem(String name, double price) {}
+
+    /** Details page as seen at one moment (price is NaN when missing). */
+    public record DetailsState(String name, double price, boolean addToCartVisible) {}
+
+    /** Cart page as seen at one moment (badgeCount is 0 when the badge is absent). */
+    public record CartState(String title, int badgeCount, boolean removeButtonVisible, List<CartItem> items) {
+
+        /** First cart row, or an empty placeholder so assertions fail on the values instead of here. */
+        public CartItem firstItem() {
+            return items.isEmpty() ? new CartItem("", Double.NaN) : items.getFirst();
+        }
+    }
+
     // ----------------------- Page Checks (no assertions) -----------------------
 
     /** Returns true if the Products page title is visible. */
@@ -85,7 +132,9 @@ public class ProductsPage {
     /**
      * Finds the highest priced item from the inventory list WITHOUT using sort.
      * Returns ProductInfo containing index (1-based), name, and numeric price.
+     * The budget allows the current 6-item catalog; the scan makes commands per item.
      */
+    @CommandBudget(40)
     public ProductInfo findHighestPricedItemFromList() {
         List<WebElement> items = TestBase.getDriver().findElements(inventoryListLocator);
 
@@ -142,6 +191,22 @@ public class ProductsPage {
         return parseDollarPrice(getMethods.getText(itemDetailsPriceLocator));
     }
 
+    /** Name, price and add-to-cart visibility of the details page in one script call. */
+    public DetailsState getDetailsState() {
+        if (!scriptsSupported()) {
+            String name = getDetailsItemName();
+            List<WebElement> price = TestBase.getDriver().findElements(itemDetailsPriceLocator);
+            return new DetailsState(name,
+                    price.isEmpty() ? Double.NaN : parsePriceOrNaN(price.getFirst().getText().trim()),
+                    isShown(addItemToCartLocator));
+        }
+        Map<String, Object> snapshot = getMethods.getSnapshot("details page", DETAILS_STATE_SCRIPT);
+        return new DetailsState(
+                String.valueOf(snapshot.getOrDefault("name", "")),
+                parsePriceOrNaN(snapshot.get("price")),
+                Boolean.TRUE.equals(snapshot.get("addToCartVisible")));
+    }
+
     public void addToCartFromDetails() {
         actionMethods.click(addItemToCartLocator);
     }
@@ -180,12 +245,58 @@ public class ProductsPage {
         return parseDollarPrice(getMethods.getText(itemInCartPriceLocator));
     }
 
+    /** Title, badge, remove button and rows of the cart page in one script call. */
+    public CartState getCartState() {
+        if (!scriptsSupported()) {
+            String title = getCartPageTitle();
+            List<CartItem> items = TestBase.getDriver().findElements(cartItemLocator).stream()
+                    .map(row -> new CartItem(
+                            firstText(row.findElements(itemInCartNameLocator)),
+                            parsePriceOrNaN(firstText(row.findElements(itemInCartPriceLocator)))))
+                    .toList();
+            return new CartState(title, getCartBadgeCount(), isShown(shoppingCartRemoveButtonLocator), items);
+        }
+        Map<String, Object> snapshot = getMethods.getSnapshot("cart page", CART_STATE_SCRIPT);
+        String badge = String.valueOf(snapshot.getOrDefault("badge", ""));
+        List<CartItem> items = ((List<?>) snapshot.getOrDefault("items", List.of())).stream()
+                .map(row -> (Map<?, ?>) row)
+                .map(row -> new CartItem(String.valueOf(row.get("name")), parsePriceOrNaN(row.get("price"))))
+                .toList();
+        return new CartState(
+                String.valueOf(snapshot.getOrDefault("title", "")),
+                badge.isEmpty() ? 0 : Integer.parseInt(badge),
+                Boolean.TRUE.equals(snapshot.get("removeButtonVisible")),
+                items);
+    }
+
     // ----------------------- Utility -----------------------
 
+    /**
+     * The snapshot scripts need a JavascriptExecutor; drivers without JavaScript (the fake driver)
+     * read the same fields element by element, so fake runs do not cover the scripts themselves.
+     */
+    private static boolean scriptsSupported() {
+        return TestBase.getDriver() instanceof JavascriptExecutor;
+    }
+
+    /** Displayed right now, without waiting (the snapshot reports absence rather than waiting for it). */
+    private static boolean isShown(By locator) {
+        return TestBase.getDriver().findElements(locator).stream().anyMatch(WebElement::isDisplayed);
+    }
+
+    private static String firstText(List<WebElement> elements) {
+        return elements.isEmpty() ? "" : elements.getFirst().getText().trim();
+    }
+
+    /** Snapshot prices: NaN when the field was missing, so the price assertion reports it. */
+    private static double parsePriceOrNaN(Object text) {
+        return text == null || text.toString().isEmpty() ? Double.NaN : parseDollarPrice(text.toString());
+    }
+
     /**
      * This is a technical guard. It throws a clear error if the format is unexpected.
      */
-    private double parseDollarPrice(String text) {
+    static double parseDollarPrice(String text) {
         if (text == null) {
             throw new IllegalArgumentException("Price text was null");
         }
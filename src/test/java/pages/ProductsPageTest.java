@@ -0,0 +1,111 @@
+package pages;
+
+import base.TestBase;
+import behaviour.ActionMethods;
+import behaviour.GetMethods;
+import fake.AppPageSource;
+import fake.FakeWebDriver;
+import fake.PageSource;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import server.Catalog;
+import server.SauceDemoApp;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Page-object logic against the in-memory fake driver: no browser, each test runs in milliseconds.
+ */
+public class ProductsPageTest {
+
+    private static final String BASE_URL = "http://saucedemo.test";
+
+    private WebDriver driver;
+
+    /** The helpers log to the current Cucumber scenario; outside one there is none. */
+    @BeforeMethod
+    public void detachScenario() {
+        ActionMethods.setScenario(null);
+        GetMethods.setScenario(null);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void closeDriver() {
+        TestBase.unbindDriver();
+        if (driver != null) driver.quit();
+    }
+
+    // ----------------------- findHighestPricedItemFromList -----------------------
+
+    @Test
+    public void findsHighestPricedItemOfStandardCatalog() {
+        assertHighestOf(Catalog.standard());
+    }
+
+    @Test
+    public void findsHighestPricedItemOfGeneratedCatalog() {
+        assertHighestOf(Catalog.ofSize(30, 7));
+    }
+
+    @Test
+    public void highestPricedItemFailsOnUnexpectedPriceFormat() {
+        open(html("<div class='inventory_item'><div class='inventory_item_name' data-test='inventory-item-name'>Bag</div>"
+                + "<div class='pricebar'><div class='inventory_item_price'>29.99</div></div></div>"));
+
+        IllegalArgumentException error = expectThrows(IllegalArgumentException.class,
+                () -> new ProductsPage().findHighestPricedItemFromList());
+        assertEquals(error.getMessage(), "Unexpected price format: 29.99");
+    }
+
+    // ----------------------- parseDollarPrice -----------------------
+
+    @Test
+    public void parsesDollarPrices() {
+        assertEquals(ProductsPage.parseDollarPrice("$29.99"), 29.99);
+        assertEquals(ProductsPage.parseDollarPrice("  $7.99 "), 7.99);
+    }
+
+    @Test
+    public void rejectsMalformedPrices() {
+        assertEquals(expectThrows(IllegalArgumentException.class, () -> ProductsPage.parseDollarPrice(null)).getMessage(),
+                "Price text was null");
+        assertEquals(expectThrows(IllegalArgumentException.class, () -> ProductsPage.parseDollarPrice("29.99")).getMessage(),
+                "Unexpected price format: 29.99");
+        assertThrows(NumberFormatException.class, () -> ProductsPage.parseDollarPrice("$free"));
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    private void assertHighestOf(Catalog catalog) {
+        open(new AppPageSource(new SauceDemoApp(catalog, 0)));
+        driver.manage().addCookie(new Cookie(SauceDemoApp.SESSION_COOKIE, "standard_user"));
+        driver.get(BASE_URL + "/inventory.html");
+
+        Catalog.Item expected = catalog.items().stream().max(Comparator.comparingDouble(Catalog.Item::price)).orElseThrow();
+        ProductsPage.ProductInfo highest = new ProductsPage().findHighestPricedItemFromList();
+
+        assertEquals(highest.name(), expected.name());
+        assertEquals(highest.price(), expected.price());
+    }
+
+    /** Binds a fake driver over the given pages to this thread, on the site root. */
+    private void open(PageSource pages) {
+        driver = new FakeWebDriver(pages);
+        driver.get(BASE_URL + "/");
+        TestBase.bindDriver(driver);
+    }
+
+    /** Serves the same inventory list for every URL. */
+    private static PageSource html(String items) {
+        String page = "<html><body><div class='inventory_list'>" + items + "</div></body></html>";
+        return (method, url, form, cookies) -> new PageSource.Response(200, page, null, Map.of());
+    }
+}
@@ -0,0 +1,37 @@
+package regression;
+
+import java.util.List;
+
+/**
+ * Robust summary of a step's or scenario's recent runs: the median, and the noise band as the
+ * median absolute deviation scaled to a standard deviation (x1.4826), so single slow runs in the
+ * history neither move the baseline nor widen the band much.
+ */
+record Baseline(int runs, double median, double noise, double max) {
+
+    private static final double MAD_TO_SIGMA = 1.4826;
+
+    static Baseline of(List<Double> values) {
+        double median = median(values);
+        double mad = median(values.stream().map(value -> Math.abs(value - median)).toList());
+        return new Baseline(values.size(), median, MAD_TO_SIGMA * mad,
+                values.stream().mapToDouble(Double::doubleValue).max().orElse(0));
+    }
+
+    /**
+     * How far {@code current} is above the median beyond the allowed shift (noise band, relative and
+     * absolute floors, whichever is largest); positive means a significant slowdown.
+     */
+    double excess(double current, RegressionSettings settings) {
+        double allowed = Math.max(settings.noiseMads() * noise,
+                Math.max(settings.minRegressionPercent() / 100 * median, settings.minRegressionMillis()));
+        return current - median - allowed;
+    }
+
+    static double median(List<Double> values) {
+        if (values.isEmpty()) return 0;
+        List<Double> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+}
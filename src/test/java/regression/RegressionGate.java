@@ -0,0 +1,274 @@
+package regression;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import utilities.LockedProperties;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Performance regression gate: compares this run's step and scenario durations (and step command
+ * counts) with a rolling baseline of earlier runs.
+ * <p>
+ * StepTimingPlugin feeds it every passed step and scenario and runs it at the end of the run;
+ * a run without that plugin has no gate. At the end of the run each step
+ * pattern and scenario contributes its median duration of this run; it is a regression when it
+ * is above the baseline median (of the last perfBaselineRuns runs, from perfHistoryFile) by more
+ * than the noise band and the relative and absolute floors, or when a step makes more commands
+ * than in any baseline run. Regressions are written to perf-regressions.txt next to the step
+ * timing report and fail the run with perfGateMode=fail. This run's medians are then added to
+ * the history, so a slowdown that is kept becomes the baseline after about half the window.
+ * <p>
+ * History entries are kept per environment (browsers, headless, local or grid driver, application
+ * URL or stub server), so a run on another backend neither compares with nor shifts this baseline.
+ * <p>
+ * A fork (fork.ForkedRunLauncher) only sees its shard, so instead of comparing it writes its raw
+ * samples to PERF_SAMPLES_FILE; the launcher merges the forks' samples and runs the gate once per
+ * environment (evaluateForks), on the same medians a single JVM would have seen.
+ */
+public final class RegressionGate {
+
+    static final String REPORT_FILE = "perf-regressions.txt";
+
+    private static final String HISTORY_COMMENT = "Median ms (;commands) of the last runs, recorded by regression.RegressionGate";
+
+    /** Set by the fork launcher: where a fork writes its samples instead of comparing them. */
+    public static final String SAMPLES_FILE_VARIABLE = "PERF_SAMPLES_FILE";
+
+    private static final String ENVIRONMENT_KEY = "environment";
+
+    /** This run's samples of one step pattern or scenario. */
+    private static final class Samples {
+        final String name;
+        final List<Double> millis = new ArrayList<>();
+        final List<Double> commands = new ArrayList<>();
+
+        Samples(String name) {
+            this.name = name;
+        }
+
+        synchronized void add(double durationMillis, long commandCount) {
+            millis.add(durationMillis);
+            if (commandCount >= 0) commands.add((double) commandCount);
+        }
+    }
+
+    /** One significant slowdown; commands are -1 for scenarios and when only the duration regressed. */
+    private record Regression(String key, String name, Baseline baseline, double current,
+                              double baselineCommands, double currentCommands) {
+    }
+
+    private static final RegressionSettings settings = RegressionSettings.fromConfig();
+    private static final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    private RegressionGate() {}
+
+    /** Records a finished step (grouped by step pattern or hook); failed steps say nothing about speed. */
+    public static void onStepFinished(String step, long wallNanos, long commands, boolean passed) {
+        if (settings.mode() == RegressionSettings.Mode.OFF || !passed) return;
+        samples.computeIfAbsent("step: " + step, key -> new Samples(step)).add(wallNanos / 1e6, commands);
+    }
+
+    /** Records a finished scenario attempt under its feature path:line key. */
+    public static void onScenarioFinished(String scenarioKey, String name, long durationNanos, boolean passed) {
+        if (settings.mode() == RegressionSettings.Mode.OFF || !passed) return;
+        samples.computeIfAbsent("scenario: " + scenarioKey, key -> new Samples(name)).add(durationNanos / 1e6, -1);
+    }
+
+    /**
+     * Compares this run with the baseline, writes the report into {@code directory} and records
+     * this run in the history. Throws when regressions were found and perfGateMode=fail.
+     */
+    public static void evaluate(Path directory) {
+        if (settings.mode() == RegressionSettings.Mode.OFF || samples.isEmpty()) return;
+
+        String samplesFile = System.getenv(SAMPLES_FILE_VARIABLE);
+        if (samplesFile != null && !samplesFile.isBlank()) {
+            writeSamples(Path.of(samplesFile));
+            return;
+        }
+        evaluate(directory, environment(), samples);
+    }
+
+    /**
+     * Runs the gate once per environment on the merged samples of the given forks' sample files
+     * (missing files are skipped), as {@link #evaluate(Path)} does for a single JVM.
+     */
+    public static void evaluateForks(List<Path> sampleFiles, Path directory) {
+        if (settings.mode() == RegressionSettings.Mode.OFF) return;
+
+        Map<String, Map<String, Samples>> byEnvironment = new LinkedHashMap<>();
+        for (Path file : sampleFiles) {
+            if (!Files.exists(file)) continue;
+            Properties forkSamples = LockedProperties.read(file);
+            Map<String, Samples> merged = byEnvironment.computeIfAbsent(forkSamples.getProperty(ENVIRONMENT_KEY, ""), ignored -> new LinkedHashMap<>());
+            for (String key : forkSamples.stringPropertyNames()) {
+                if (key.equals(ENVIRONMENT_KEY)) continue;
+                // millis;commands;name - the name comes last as it may contain ';'
+                String[] parts = forkSamples.getProperty(key).split(";", 3);
+                Samples run = merged.computeIfAbsent(key, ignored -> new Samples(parts[2]));
+                run.millis.addAll(parse(parts[0]));
+                run.commands.addAll(parse(parts[1]));
+            }
+        }
+        byEnvironment.forEach((environment, merged) -> {
+            if (!merged.isEmpty()) evaluate(directory, environment, merged);
+        });
+    }
+
+    private static void evaluate(Path directory, String environment, Map<String, Samples> samples) {
+        List<Regression> regressions = Collections.synchronizedList(new ArrayList<>());
+        int[] compared = new int[1];
+        LockedProperties.update(settings.historyFile(), HISTORY_COMMENT, history -> samples.forEach((key, run) -> {
+            String historyKey = "[" + environment + "] " + key;
+            double current;
+            double currentCommands;
+            synchronized (run) {
+                current = Baseline.median(run.millis);
+                currentCommands = run.commands.isEmpty() ? -1 : Baseline.median(run.commands);
+            }
+            List<Double> pastMillis = values(history, historyKey, 0);
+            List<Double> pastCommands = values(history, historyKey, 1);
+
+            if (pastMillis.size() >= settings.minBaselineRuns()) {
+                compared[0]++;
+                Baseline baseline = Baseline.of(pastMillis);
+                Baseline commandBaseline = pastCommands.size() >= settings.minBaselineRuns() ? Baseline.of(pastCommands) : null;
+                boolean moreCommands = commandBaseline != null && currentCommands > commandBaseline.max();
+                if (baseline.excess(current, settings) > 0 || moreCommands) {
+                    regressions.add(new Regression(key, run.name, baseline, current,
+                            moreCommands ? commandBaseline.median() : -1, moreCommands ? currentCommands : -1));
+                }
+            }
+
+            pastMillis.add(current);
+            if (currentCommands >= 0) pastCommands.add(currentCommands);
+            history.setProperty(historyKey, join(recent(pastMillis))
+                    + (pastCommands.isEmpty() ? "" : ";" + join(recent(pastCommands))));
+        }));
+
+        writeReport(directory, environment, regressions, compared[0], samples.size());
+        if (settings.mode() == RegressionSettings.Mode.FAIL && !regressions.isEmpty()) {
+            throw new AssertionError(regressions.size() + " performance regression(s) against the baseline, see "
+                    + directory.resolve(REPORT_FILE));
+        }
+    }
+
+    // ----------------------- History -----------------------
+
+    /** e.g. "chrome+fake,headless,https://www.saucedemo.com" or "firefox,grid selenium-hub,stub server". */
+    private static String environment() {
+        ReadConfig config = ReadConfig.getInstance();
+        String lightweight = System.getenv().getOrDefault("LIGHTWEIGHT_BROWSER", config.getLightweightBrowser()).trim().toLowerCase(Locale.ROOT);
+        boolean remote = Boolean.parseBoolean(System.getenv().getOrDefault("USE_REMOTE_DRIVER", "false"));
+        boolean stub = Boolean.parseBoolean(System.getenv().getOrDefault("USE_STUB_SERVER", String.valueOf(config.isStubServerEnabled())));
+        // The stub server's port changes every run, so it is named rather than given by URL
+        return TestBase.configuredBrowser() + (lightweight.isEmpty() ? "" : "+" + lightweight)
+                + (TestBase.configuredHeadless() ? ",headless" : "")
+                + (remote ? ",grid " + System.getenv().getOrDefault("HUB_HOST", "selenium-hub") : "")
+                + "," + (stub ? "stub server" : config.getUrl());
+    }
+
+    /** The {@code part}-th ';'-separated list of a history entry (0 = durations, 1 = commands). */
+    private static List<Double> values(Properties history, String key, int part) {
+        String[] parts = history.getProperty(key, "").split(";");
+        List<Double> values = new ArrayList<>();
+        if (part < parts.length && !parts[part].isBlank()) {
+            Arrays.stream(parts[part].split(",")).map(String::trim).map(Double::parseDouble).forEach(values::add);
+        }
+        return values;
+    }
+
+    private static List<Double> recent(List<Double> values) {
+        return values.subList(Math.max(0, values.size() - settings.baselineRuns()), values.size());
+    }
+
+    private static String join(List<Double> values) {
+        return String.join(",", values.stream().map(RegressionGate::number).toList());
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    // ----------------------- Fork samples -----------------------
+
+    private static void writeSamples(Path file) {
+        Properties forkSamples = new Properties();
+        forkSamples.setProperty(ENVIRONMENT_KEY, environment());
+        samples.forEach((key, run) -> {
+            synchronized (run) {
+                forkSamples.setProperty(key, join(run.millis) + ";" + join(run.commands) + ";" + run.name);
+            }
+        });
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                forkSamples.store(writer, "Step and scenario samples of this fork, merged by fork.ForkReportMerger");
+            }
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write performance samples to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static List<Double> parse(String values) {
+        return values.isBlank() ? List.of() : Arrays.stream(values.split(",")).map(String::trim).map(Double::parseDouble).toList();
+    }
+
+    // ----------------------- Report -----------------------
+
+    private static void writeReport(Path directory, String environment, List<Regression> regressions, int compared, int total) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Performance regressions: %d of %d steps/scenarios compared (%d still collecting a baseline of %d runs)%n"
+                        + "baseline = median of the last %d runs on [%s] in %s; regression = above it by more than"
+                        + " max(%.1f x noise, %.0f%%, %.0f ms), noise = 1.4826 x MAD%n",
+                regressions.size(), compared, total - compared, settings.minBaselineRuns(),
+                settings.baselineRuns(), environment, settings.historyFile(), settings.noiseMads(),
+                settings.minRegressionPercent(), settings.minRegressionMillis()));
+
+        if (!regressions.isEmpty()) {
+            report.append(String.format(Locale.ROOT, "%n%12s %10s %12s %10s %8s %13s  %s%n",
+                    "baseline ms", "noise ms", "this run ms", "shift ms", "shift", "commands", "step / scenario"));
+            regressions.sort(Comparator.comparingDouble((Regression regression) -> regression.current() - regression.baseline().median()).reversed());
+            for (Regression regression : regressions) {
+                Baseline baseline = regression.baseline();
+                double shift = regression.current() - baseline.median();
+                report.append(String.format(Locale.ROOT, "%12.1f %10.1f %12.1f %+10.1f %+7.0f%% %13s  %s%n",
+                        baseline.median(), baseline.noise(), regression.current(), shift,
+                        baseline.median() == 0 ? 0 : 100 * shift / baseline.median(),
+                        regression.currentCommands() < 0 ? "" : number(regression.baselineCommands()) + " -> " + number(regression.currentCommands()),
+                        regression.key().startsWith("scenario: ") ? "scenario " + regression.name() + " (" + regression.key().substring(10) + ")"
+                                : regression.key()));
+            }
+        }
+
+        Path file = directory.resolve(REPORT_FILE);
+        if (regressions.isEmpty()) {
+            TestBase.logger.info("{}", report.toString().strip());
+        } else {
+            TestBase.logger.warn("\n{}", report);
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write performance regression report to {}: {}", file, e.getMessage());
+        }
+    }
+}
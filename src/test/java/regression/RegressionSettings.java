@@ -0,0 +1,51 @@
+package regression;
+
+import configuration.ReadConfig;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Performance regression gate settings.
+ * Values come from config.properties and can be overridden with environment variables
+ * (PERF_GATE_MODE, PERF_HISTORY_FILE, PERF_BASELINE_RUNS, PERF_MIN_BASELINE_RUNS, PERF_NOISE_MADS,
+ * PERF_MIN_REGRESSION_PERCENT, PERF_MIN_REGRESSION_MILLIS).
+ *
+ * @param mode                   off, warn (report only) or fail (the run fails on a regression)
+ * @param historyFile            per-step and per-scenario medians of the last runs
+ * @param baselineRuns           runs kept per step/scenario; the baseline is their median
+ * @param minBaselineRuns        runs needed before a step/scenario is compared at all
+ * @param noiseMads              how many (normalised) median absolute deviations of the baseline count as noise
+ * @param minRegressionPercent   smallest slowdown reported, relative to the baseline median
+ * @param minRegressionMillis    smallest slowdown reported, in milliseconds
+ */
+public record RegressionSettings(Mode mode,
+                                 Path historyFile,
+                                 int baselineRuns,
+                                 int minBaselineRuns,
+                                 double noiseMads,
+                                 double minRegressionPercent,
+                                 double minRegressionMillis) {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    public RegressionSettings {
+        if (minBaselineRuns < 1 || baselineRuns < minBaselineRuns) {
+            throw new IllegalArgumentException("Performance baseline needs 1 <= perfMinBaselineRuns <= perfBaselineRuns but got "
+                    + minBaselineRuns + " and " + baselineRuns);
+        }
+    }
+
+    public static RegressionSettings fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        return new RegressionSettings(
+                Mode.valueOf(System.getenv().getOrDefault("PERF_GATE_MODE", config.getPerfGateMode()).toUpperCase(Locale.ROOT)),
+                Path.of(System.getenv().getOrDefault("PERF_HISTORY_FILE", config.getPerfHistoryFile())),
+                Integer.parseInt(System.getenv().getOrDefault("PERF_BASELINE_RUNS", String.valueOf(config.getPerfBaselineRuns()))),
+                Integer.parseInt(System.getenv().getOrDefault("PERF_MIN_BASELINE_RUNS", String.valueOf(config.getPerfMinBaselineRuns()))),
+                Double.parseDouble(System.getenv().getOrDefault("PERF_NOISE_MADS", String.valueOf(config.getPerfNoiseMads()))),
+                Double.parseDouble(System.getenv().getOrDefault("PERF_MIN_REGRESSION_PERCENT", String.valueOf(config.getPerfMinRegressionPercent()))),
+                Double.parseDouble(System.getenv().getOrDefault("PERF_MIN_REGRESSION_MILLIS", String.valueOf(config.getPerfMinRegressionMillis())))
+        );
+    }
+}
@@ -0,0 +1,320 @@
+package reporting;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import io.cucumber.plugin.event.WriteEvent;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Cucumber plugin writing the report while the run goes, one scenario at a time, to reportDir
+ * (REPORT_DIR; or the directory given as plugin argument):
+ * <ul>
+ *   <li>results.jsonl – one JSON line per finished scenario (steps, errors, attachment paths)</li>
+ *   <li>results.js / scenarios/N.js – the same for index.html: a summary line per scenario, and the
+ *       details of scenario N, loaded only when it is opened</li>
+ *   <li>attachments/ – screenshots and other scenario.attach data, as files referenced by path</li>
+ *   <li>run.js – start and end of the run; index.html reloads the results until the run ended</li>
+ * </ul>
+ * Only the scenarios still running are held in memory, so heap use does not grow with the suite and
+ * attachments never stay in memory; everything written so far can be opened during the run.
+ * The files are plain scripts, so index.html also works straight from disk (file://).
+ */
+public class StreamingReportPlugin implements ConcurrentEventListener {
+
+    static final String INDEX_TEMPLATE = "reporting/index.html";
+
+    /** Longest stack trace kept per failed step. */
+    private static final int MAX_ERROR_CHARS = 8_000;
+
+    /** A scenario attempt that is still running: its steps so far and where attachments go. */
+    private static final class RunningScenario {
+        final int number;
+        final Instant started;
+        final List<Map<String, Object>> steps = new ArrayList<>();
+        int attachments;
+        Map<String, Object> currentStep;
+
+        RunningScenario(int number, Instant started) {
+            this.number = number;
+            this.started = started;
+        }
+    }
+
+    private final Path directory;
+    private final AtomicInteger scenarioNumbers = new AtomicInteger();
+    private final Map<UUID, RunningScenario> running = new ConcurrentHashMap<>();
+    private final Json json = new Json();
+    private Instant runStarted;
+
+    public StreamingReportPlugin() {
+        this(new File(System.getenv().getOrDefault("REPORT_DIR", ReadConfig.getInstance().getReportDir())));
+    }
+
+    public StreamingReportPlugin(File directory) {
+        this.directory = directory.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, this::onTestRunStarted);
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(EmbedEvent.class, this::onEmbed);
+        publisher.registerHandlerFor(WriteEvent.class, this::onWrite);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    // ----------------------- Events -----------------------
+
+    private void onTestRunStarted(TestRunStarted event) {
+        runStarted = event.getInstant();
+        try {
+            deleteReport();
+            Files.createDirectories(directory.resolve("scenarios"));
+            Files.createDirectories(directory.resolve("attachments"));
+            try (InputStream index = StreamingReportPlugin.class.getClassLoader().getResourceAsStream(INDEX_TEMPLATE)) {
+                if (index == null) throw new IOException(INDEX_TEMPLATE + " not found on the classpath");
+                Files.copy(index, directory.resolve("index.html"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(directory.resolve("results.js"), "");
+            Files.writeString(directory.resolve("results.jsonl"), "");
+            writeRun(null);
+            TestBase.logger.info("Streaming report: {}", directory.resolve("index.html").toAbsolutePath().toUri());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the report in " + directory, e);
+        }
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        running.put(event.getTestCase().getId(), new RunningScenario(scenarioNumbers.incrementAndGet(), event.getInstant()));
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario == null) return;
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("text", label(event.getTestStep()));
+        step.put("hook", event.getTestStep() instanceof HookTestStep);
+        synchronized (scenario) {
+            scenario.steps.add(step);
+            scenario.currentStep = step;
+        }
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario == null) return;
+        Result result = event.getResult();
+        synchronized (scenario) {
+            Map<String, Object> step = scenario.currentStep;
+            if (step == null) return;
+            step.put("status", status(result.getStatus()));
+            step.put("millis", result.getDuration().toMillis());
+            if (result.getError() != null) step.put("error", errorText(result.getError()));
+        }
+    }
+
+    /** Attachments go straight to a file; the scenario only keeps the path. */
+    private void onEmbed(EmbedEvent event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario == null) return;
+        int index;
+        synchronized (scenario) {
+            index = ++scenario.attachments;
+        }
+        String name = event.getName() == null ? "attachment" : event.getName();
+        String file = "attachments/" + scenario.number + "-" + index + "-" + fileName(name) + extension(event.getMediaType());
+        try {
+            Files.write(directory.resolve(file), event.getData());
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write attachment {}: {}", file, e.getMessage());
+            return;
+        }
+        Map<String, Object> attachment = new LinkedHashMap<>();
+        attachment.put("name", name);
+        attachment.put("mediaType", event.getMediaType());
+        attachment.put("path", file);
+        addToCurrentStep(scenario, "attachments", attachment);
+    }
+
+    private void onWrite(WriteEvent event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario != null) addToCurrentStep(scenario, "logs", event.getText());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        RunningScenario scenario = running.remove(event.getTestCase().getId());
+        if (scenario == null) return;
+        TestCase testCase = event.getTestCase();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("n", scenario.number);
+        summary.put("name", testCase.getName());
+        summary.put("feature", relativeUri(testCase.getUri()));
+        summary.put("line", testCase.getLocation().getLine());
+        summary.put("tags", testCase.getTags());
+        summary.put("status", status(event.getResult().getStatus()));
+        summary.put("started", scenario.started.toString());
+        summary.put("millis", event.getResult().getDuration().toMillis());
+
+        Map<String, Object> details = new LinkedHashMap<>(summary);
+        synchronized (scenario) {
+            summary.put("attachments", scenario.attachments);
+            details.put("steps", scenario.steps);
+        }
+
+        String detailsJson = toJson(details);
+        try {
+            Files.writeString(directory.resolve("scenarios").resolve(scenario.number + ".js"),
+                    "report.details(" + scenario.number + ", " + detailsJson + ");\n");
+            append("results.jsonl", detailsJson + "\n");
+            // Last: a scenario shows up in the index only once its details can be opened
+            append("results.js", "report.scenario(" + toJson(summary) + ");\n");
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write scenario '{}' to the report: {}", testCase.getName(), e.getMessage());
+        }
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        try {
+            writeRun(event.getInstant());
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to finish the report in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    // ----------------------- Files -----------------------
+
+    private void writeRun(Instant finished) throws IOException {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("started", runStarted == null ? null : runStarted.toString());
+        run.put("finished", finished == null ? null : finished.toString());
+        Files.writeString(directory.resolve("run.js"), "report.run(" + toJson(run) + ");\n");
+    }
+
+    /** Appends whole lines, so a reader during the run never sees half a scenario. */
+    private synchronized void append(String file, String lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(file), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(lines);
+        }
+    }
+
+    /** Removes the previous run's report files (only those this plugin writes). */
+    private void deleteReport() throws IOException {
+        for (String folder : List.of("scenarios", "attachments")) {
+            Path path = directory.resolve(folder);
+            if (!Files.isDirectory(path)) continue;
+            try (Stream<Path> files = Files.list(path)) {
+                for (Path file : files.toList()) Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private String toJson(Object value) {
+        StringBuilder text = new StringBuilder();
+        try (JsonOutput output = json.newOutput(text)) {
+            output.setPrettyPrint(false).write(value);
+        }
+        return text.toString();
+    }
+
+    private static void addToCurrentStep(RunningScenario scenario, String key, Object value) {
+        synchronized (scenario) {
+            if (scenario.currentStep == null) return;
+            @SuppressWarnings("unchecked")
+            List<Object> values = (List<Object>) scenario.currentStep.computeIfAbsent(key, k -> new ArrayList<>());
+            values.add(value);
+        }
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    private static String label(TestStep step) {
+        if (step instanceof PickleStepTestStep pickleStep) {
+            return pickleStep.getStep().getKeyword() + pickleStep.getStep().getText();
+        }
+        if (step instanceof HookTestStep hook) {
+            String location = hook.getCodeLocation();
+            int parameters = location.indexOf('(');
+            return hook.getHookType() + " hook " + (parameters > 0 ? location.substring(0, parameters) : location);
+        }
+        return step.getCodeLocation();
+    }
+
+    private static String relativeUri(URI uri) {
+        if (!"file".equals(uri.getScheme())) return uri.toString();
+        Path feature = Path.of(uri);
+        Path workingDirectory = Path.of("").toAbsolutePath();
+        return feature.startsWith(workingDirectory) ? workingDirectory.relativize(feature).toString() : feature.toString();
+    }
+
+    private static String status(Status status) {
+        return status.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String errorText(Throwable error) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        String text = trace.toString();
+        return text.length() <= MAX_ERROR_CHARS ? text : text.substring(0, MAX_ERROR_CHARS) + "\n\t...";
+    }
+
+    private static String fileName(String name) {
+        String safe = name.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return safe.length() <= 60 ? safe : safe.substring(0, 60);
+    }
+
+    private static String extension(String mediaType) {
+        return switch (mediaType == null ? "" : mediaType) {
+            case "image/png" -> ".png";
+            case "image/jpeg" -> ".jpg";
+            case "text/plain" -> ".txt";
+            case "text/html" -> ".html";
+            case "application/json" -> ".json";
+            default -> ".bin";
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package retry;
+
+import base.TestBase;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import sharding.ScenarioTimings;
+import utilities.LockedProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin turning the attempts of each scenario into flakiness statistics: a scenario
+ * that failed and then passed on a retry is flaky. At the end of the run it adds the outcomes
+ * to the persistent history (retryHistoryFile, {@code <feature path>:<line>=runs,flaky,failed})
+ * and writes this run's flaky scenarios plus the flakiest ones of the history to
+ * target/flaky-scenarios.txt (or the file given as plugin argument). No-op when retries are off.
+ */
+public class FlakinessPlugin implements ConcurrentEventListener {
+
+    static final Path REPORT = Path.of("target", "flaky-scenarios.txt");
+
+    private static final int FLAKIEST_LISTED = 10;
+
+    private final Path report;
+    private final RetrySettings settings = RetrySettings.fromConfig();
+    private final Map<String, List<Status>> attempts = new ConcurrentHashMap<>();
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    public FlakinessPlugin() {
+        this(REPORT.toFile());
+    }
+
+    public FlakinessPlugin(File report) {
+        this.report = report.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        String key = ScenarioTimings.keyOf(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine());
+        attempts.computeIfAbsent(key, k -> new ArrayList<>()).add(event.getResult().getStatus());
+        names.put(key, event.getTestCase().getName());
+    }
+
+    private void onTestRunFinished() {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        List<String> flaky = new ArrayList<>();
+        LockedProperties.update(settings.historyFile(), "Scenario flakiness (runs,flaky,failed) recorded by retry.FlakinessPlugin", history ->
+                attempts.forEach((key, statuses) -> {
+                    boolean passed = statuses.getLast() == Status.PASSED;
+                    boolean retried = statuses.size() > 1;
+                    if (passed && retried) flaky.add(key);
+
+                    long[] counts = counts(history, key);
+                    counts[0]++;
+                    if (passed && retried) counts[1]++;
+                    if (!passed) counts[2]++;
+                    history.setProperty(key, counts[0] + "," + counts[1] + "," + counts[2]);
+                }));
+
+        writeReport(flaky, LockedProperties.read(settings.historyFile()));
+    }
+
+    private void writeReport(List<String> flaky, Properties history) {
+        StringBuilder text = new StringBuilder("Flaky scenarios of this run (passed after a retry): ").append(flaky.size()).append('\n');
+        flaky.stream().sorted().forEach(key -> text.append(String.format("  %-45s %s (attempts: %s)%n",
+                key, names.get(key), attempts.get(key))));
+
+        text.append("\nFlakiest scenarios (history: ").append(settings.historyFile()).append(")\n");
+        text.append(String.format("  %6s %6s %6s %6s  %s%n", "flaky%", "runs", "flaky", "failed", "scenario"));
+        history.stringPropertyNames().stream()
+                .filter(key -> counts(history, key)[1] > 0)
+                .sorted(Comparator.comparingDouble((String key) -> flakeRate(history, key)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(FLAKIEST_LISTED)
+                .forEach(key -> {
+                    long[] counts = counts(history, key);
+                    text.append(String.format("  %6.1f %6d %6d %6d  %s%n", 100 * flakeRate(history, key),
+                            counts[0], counts[1], counts[2], key));
+                });
+
+        TestBase.logger.info("Flakiness summary:\n{}", text);
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            Files.writeString(report, text);
+        } catch (IOException e) {
+            TestBase.logger.error("Failed to write flakiness report {}: {}", report, e.getMessage());
+        }
+    }
+
+    private static long[] counts(Properties history, String key) {
+        String value = history.getProperty(key);
+        long[] counts = new long[3];
+        if (value != null) {
+            String[] parts = value.split(",");
+            for (int i = 0; i < Math.min(parts.length, counts.length); i++) {
+                counts[i] = Long.parseLong(parts[i].trim());
+            }
+        }
+        return counts;
+    }
+
+    private static double flakeRate(Properties history, String key) {
+        long[] counts = counts(history, key);
+        return counts[0] == 0 ? 0 : (double) counts[1] / counts[0];
+    }
+}
@@ -0,0 +1,61 @@
+package retry;
+
+import configuration.ReadConfig;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-run retry settings.
+ * Values come from config.properties and can be overridden with environment variables
+ * (RETRY_MAX_ATTEMPTS, RETRY_TAG_POLICY, RETRY_HISTORY_FILE).
+ *
+ * @param maxAttempts   attempts per scenario including the first; 1 disables retries
+ * @param tagAttempts   per-tag attempts ({@code @tag:attempts,...}); the first tag the scenario has wins
+ * @param historyFile   persistent per-scenario run / flaky / failed counts
+ */
+public record RetrySettings(int maxAttempts,
+                            Map<String, Integer> tagAttempts,
+                            Path historyFile) {
+
+    public RetrySettings {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1 but was " + maxAttempts);
+        }
+    }
+
+    public static RetrySettings fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        Map<String, Integer> tagAttempts = new LinkedHashMap<>();
+        for (String entry : System.getenv().getOrDefault("RETRY_TAG_POLICY", config.getRetryTagPolicy()).split(",")) {
+            if (entry.isBlank()) continue;
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Retry tag policy entries are @tag:attempts but got: " + entry);
+            }
+            tagAttempts.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return new RetrySettings(
+                Integer.parseInt(System.getenv().getOrDefault("RETRY_MAX_ATTEMPTS", String.valueOf(config.getRetryMaxAttempts()))),
+                tagAttempts,
+                Path.of(System.getenv().getOrDefault("RETRY_HISTORY_FILE", config.getRetryHistoryFile()))
+        );
+    }
+
+    /** Attempts allowed for a scenario with the given tags. */
+    public int attemptsFor(Collection<String> tags) {
+        for (Map.Entry<String, Integer> policy : tagAttempts.entrySet()) {
+            if (tags.contains(policy.getKey())) {
+                return policy.getValue();
+            }
+        }
+        return maxAttempts;
+    }
+
+    /** Whether any scenario can be retried. */
+    public boolean isEnabled() {
+        return maxAttempts > 1 || tagAttempts.values().stream().anyMatch(attempts -> attempts > 1);
+    }
+}
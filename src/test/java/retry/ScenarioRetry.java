@@ -0,0 +1,49 @@
+package retry;
+
+import base.TestBase;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import sharding.ScenarioTimings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestNG retry analyzer for the Cucumber scenario test: a failed scenario is run again right
+ * away, in the same JVM, until it passes or uses up its attempts (retryMaxAttempts, or the
+ * retryTagPolicy entry of one of its tags). Hooks give every attempt a fresh driver session.
+ */
+public class ScenarioRetry implements IRetryAnalyzer {
+
+    private static final RetrySettings settings = RetrySettings.fromConfig();
+
+    private static final Map<String, Integer> retries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean retry(ITestResult result) {
+        Object[] parameters = result.getParameters();
+        if (parameters.length == 0 || !(parameters[0] instanceof PickleWrapper wrapper)) {
+            return false;
+        }
+
+        Pickle pickle = wrapper.getPickle();
+        String key = ScenarioTimings.keyOf(pickle.getUri(), pickle.getLine());
+        int attempt = attemptOf(key);
+        int allowed = settings.attemptsFor(pickle.getTags());
+        if (attempt >= allowed) {
+            return false;
+        }
+
+        retries.merge(key, 1, Integer::sum);
+        TestBase.logger.warn("Retrying '{}' ({}): attempt {} of {} failed: {}", pickle.getName(), key, attempt, allowed,
+                result.getThrowable() == null ? "unknown cause" : result.getThrowable().getMessage());
+        return true;
+    }
+
+    /** 1-based attempt of the scenario with this key that is running (or ran last) in this JVM. */
+    public static int attemptOf(String key) {
+        return retries.getOrDefault(key, 0) + 1;
+    }
+}
@@ -1,17 +1,51 @@
 package runners;
 
+import incremental.IncrementalSelection;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import retry.ScenarioRetry;
+import sharding.ScenarioSharding;
 
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"stepdefinitions", "hooks"},
         plugin = {
                 "pretty",
-                "html:target/cucumber-report.html"
+                "html:target/cucumber-report.html",
+                "reporting.StreamingReportPlugin",
+                "sharding.ScenarioDurationPlugin",
+                // Also drives the per-step command counts, the command budgets and the performance
+                // regression gate: without it budgets are never checked and the gate never runs
+                "instrumentation.StepTimingPlugin",
+                "metrics.MetricsPlugin",
+                "incremental.IncrementalPlugin",
+                "retry.FlakinessPlugin",
+                "instrumentation.StartupTimingPlugin"
         },
         monochrome = true,
         tags = "@required or @optional"
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
+
+    /**
+     * Scenarios of this CI node's shard (all scenarios unless SHARD_COUNT > 1), minus the
+     * unchanged passed ones in incremental mode (INCREMENTAL=true).
+     */
+    @Override
+    @DataProvider
+    public Object[][] scenarios() {
+        return IncrementalSelection.select(ScenarioSharding.select(super.scenarios()));
+    }
+
+    /** Cucumber's scenario test, with failed scenarios retried in-run (retryMaxAttempts / retryTagPolicy). */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = ScenarioRetry.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        super.runScenario(pickleWrapper, featureWrapper);
+    }
 }
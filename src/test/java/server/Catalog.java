@@ -0,0 +1,105 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Product catalog served by the stub SauceDemo application.
+ * The first six items mirror the public site exactly (same ids, names and prices), so the
+ * journey assertions hold against either. Synthetic catalogs append generated items that
+ * are always cheaper than the real highest priced item, keeping the expected result stable
+ * while scaling the amount of work the inventory scan has to do.
+ */
+public class Catalog {
+
+    /** A single product. Ids are the ones used in the real application's item URLs. */
+    public record Item(int id, String name, String description, double price) {
+
+        /** Id suffix used by the real application for button ids, e.g. add-to-cart-sauce-labs-backpack. */
+        public String slug() {
+            return name.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        }
+
+        public String formattedPrice() {
+            return String.format(Locale.ROOT, "$%.2f", price);
+        }
+    }
+
+    private static final List<Item> SAUCEDEMO_ITEMS = List.of(
+            new Item(4, "Sauce Labs Backpack",
+                    "carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.",
+                    29.99),
+            new Item(0, "Sauce Labs Bike Light",
+                    "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included.",
+                    9.99),
+            new Item(1, "Sauce Labs Bolt T-Shirt",
+                    "Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.",
+                    15.99),
+            new Item(5, "Sauce Labs Fleece Jacket",
+                    "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.",
+                    49.99),
+            new Item(2, "Sauce Labs Onesie",
+                    "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel.",
+                    7.99),
+            new Item(3, "Test.allTheThings() T-Shirt (Red)",
+                    "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.",
+                    15.99)
+    );
+
+    private final List<Item> items;
+    private final Map<Integer, Item> byId = new LinkedHashMap<>();
+
+    private Catalog(List<Item> items) {
+        this.items = Collections.unmodifiableList(items);
+        for (Item item : items) {
+            byId.put(item.id(), item);
+        }
+    }
+
+    /** The six products of the public site, in its default (name A-Z) display order. */
+    public static Catalog standard() {
+        return new Catalog(new ArrayList<>(SAUCEDEMO_ITEMS));
+    }
+
+    /**
+     * Catalog for the configured size: the standard products when size is 6 or less,
+     * otherwise a synthetic catalog of exactly {@code size} items.
+     */
+    public static Catalog ofSize(int size, long seed) {
+        return size > SAUCEDEMO_ITEMS.size() ? synthetic(size, seed) : standard();
+    }
+
+    /**
+     * The standard products followed by generated ones, up to {@code size} items in total.
+     * Generation is seeded so the same size/seed always yields the same catalog.
+     */
+    public static Catalog synthetic(int size, long seed) {
+        List<Item> items = new ArrayList<>(SAUCEDEMO_ITEMS);
+        Random random = new Random(seed);
+        for (int id = SAUCEDEMO_ITEMS.size(); id < size; id++) {
+            // Whole cents between $1.00 and $49.00 - never above the Fleece Jacket ($49.99)
+            double price = (100 + random.nextInt(4801)) / 100.0;
+            items.add(new Item(id, "Sauce Labs Synthetic Item " + id,
+                    "Generated catalog entry used for inventory scale testing.", price));
+        }
+        return new Catalog(items);
+    }
+
+    public List<Item> items() {
+        return items;
+    }
+
+    /** Returns the item with the given id, or null when the id is unknown. */
+    public Item find(int id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
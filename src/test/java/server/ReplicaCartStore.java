@@ -0,0 +1,28 @@
+package server;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import pages.AppState;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Cart seeding for drivers served by SauceDemoApp, which reads the cart from its cookie rather than
+ * from localStorage: browsers on the stub server, and the in-process fake driver.
+ */
+public final class ReplicaCartStore implements AppState.CartStore {
+
+    private final Predicate<WebDriver> servedByReplica;
+
+    public ReplicaCartStore(Predicate<WebDriver> servedByReplica) {
+        this.servedByReplica = servedByReplica;
+    }
+
+    @Override
+    public boolean seed(WebDriver driver, List<Integer> itemIds) {
+        if (!servedByReplica.test(driver)) return false;
+        driver.manage().addCookie(new Cookie(SauceDemoApp.CART_COOKIE, SauceDemoApp.encodeCart(itemIds), "/"));
+        return true;
+    }
+}
@@ -0,0 +1,421 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Server-side rendered replica of the SauceDemo pages used by the journey:
+ * login, inventory, item details and cart.
+ * <p>
+ * The markup keeps every id, class and data-test attribute that LoginPage and ProductsPage
+ * locate, and the user variants behave like the public site:
+ * <ul>
+ *     <li>locked_out_user - login is rejected with the "locked out" error</li>
+ *     <li>performance_glitch_user - login is delayed by the configured glitch delay</li>
+ *     <li>problem_user - item links open the wrong product</li>
+ *     <li>error_user - add to cart silently fails for some products</li>
+ *     <li>visual_user - inventory shows prices that differ from the details page</li>
+ * </ul>
+ * State lives in cookies (session-username, cart-contents) so the app needs no server-side
+ * session store. The cart is also mirrored into localStorage 'cart-contents' the way the
+ * public site keeps it, so storage-based tooling sees the same shape.
+ * <p>
+ * The class is transport independent: SauceDemoStubServer adapts it to HTTP.
+ */
+public class SauceDemoApp {
+
+    public static final String SESSION_COOKIE = "session-username";
+    public static final String CART_COOKIE = "cart-contents";
+    public static final String PASSWORD = "secret_sauce";
+
+    private static final Set<String> ACCEPTED_USERS = Set.of(
+            "standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user", "error_user", "visual_user");
+
+    /** Incoming request. Query and form parameters are already decoded. */
+    public record Request(String method, String path, Map<String, String> query,
+                          Map<String, String> form, Map<String, String> cookies) {
+
+        public static Request get(String path, Map<String, String> query, Map<String, String> cookies) {
+            return new Request("GET", path, query, Map.of(), cookies);
+        }
+    }
+
+    /**
+     * Outgoing response. {@code setCookies} values of null mean "delete this cookie";
+     * {@code location} is set for redirects.
+     */
+    public record Response(int status, String contentType, String body,
+                           String location, Map<String, String> setCookies) {
+
+        static Response html(String body) {
+            return new Response(200, "text/html; charset=utf-8", body, null, Map.of());
+        }
+
+        static Response redirect(String location, Map<String, String> setCookies) {
+            return new Response(302, "text/plain; charset=utf-8", "", location, setCookies);
+        }
+
+        static Response notFound(String path) {
+            return new Response(404, "text/plain; charset=utf-8", "Not found: " + path, null, Map.of());
+        }
+
+        public boolean isRedirect() {
+            return status >= 300 && status < 400 && location != null;
+        }
+    }
+
+    private final Catalog catalog;
+    private final long glitchDelayMillis;
+
+    public SauceDemoApp(Catalog catalog, long glitchDelayMillis) {
+        this.catalog = catalog;
+        this.glitchDelayMillis = glitchDelayMillis;
+    }
+
+    public Catalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Routes a request to the page renderer / form handler.
+     */
+    public Response handle(Request request) {
+        String user = request.cookies().get(SESSION_COOKIE);
+
+        switch (request.path()) {
+            case "/", "/index.html":
+                return Response.html(loginPage(null));
+            case "/login":
+                return "POST".equals(request.method()) ? login(request.form()) : Response.redirect("/", Map.of());
+            case "/logout":
+                Map<String, String> cleared = new LinkedHashMap<>();
+                cleared.put(SESSION_COOKIE, null);
+                cleared.put(CART_COOKIE, null);
+                return Response.redirect("/", cleared);
+            case "/inventory.html":
+                if (user == null) return notLoggedIn(request.path());
+                return Response.html(inventoryPage(user, cart(request)));
+            case "/inventory-item.html":
+                if (user == null) return notLoggedIn(request.path());
+                return Response.html(detailsPage(user, cart(request), parseId(request.query().get("id"))));
+            case "/cart.html":
+                if (user == null) return notLoggedIn(request.path());
+                return Response.html(cartPage(cart(request)));
+            case "/cart/add":
+                if (user == null) return notLoggedIn(request.path());
+                return updateCart(request, user, true);
+            case "/cart/remove":
+                if (user == null) return notLoggedIn(request.path());
+                return updateCart(request, user, false);
+            default:
+                return Response.notFound(request.path());
+        }
+    }
+
+    // ----------------------- Form handlers -----------------------
+
+    private Response login(Map<String, String> form) {
+        String username = form.getOrDefault("user-name", "");
+        String password = form.getOrDefault("password", "");
+
+        if (username.isEmpty()) {
+            return Response.html(loginPage("Epic sadface: Username is required"));
+        }
+        if (password.isEmpty()) {
+            return Response.html(loginPage("Epic sadface: Password is required"));
+        }
+        if (!ACCEPTED_USERS.contains(username) || !PASSWORD.equals(password)) {
+            return Response.html(loginPage("Epic sadface: Username and password do not match any user in this service"));
+        }
+        if (username.equals("locked_out_user")) {
+            return Response.html(loginPage("Epic sadface: Sorry, this user has been locked out."));
+        }
+        if (username.equals("performance_glitch_user")) {
+            glitch();
+        }
+        return Response.redirect("/inventory.html", Map.of(SESSION_COOKIE, username));
+    }
+
+    private Response updateCart(Request request, String user, boolean add) {
+        List<Integer> cart = cart(request);
+        Integer id = parseId(request.form().get("id"));
+        Catalog.Item item = id == null ? null : catalog.find(id);
+
+        // error_user: adding products with odd ids fails silently, like the public site
+        boolean broken = user.equals("error_user") && id != null && id % 2 == 1;
+
+        if (item != null && !broken) {
+            if (add && !cart.contains(id)) {
+                cart.add(id);
+            } else if (!add) {
+                cart.remove(id);
+            }
+        }
+
+        String back = request.form().getOrDefault("return", "/inventory.html");
+        if (!back.startsWith("/")) {
+            back = "/inventory.html";
+        }
+        return Response.redirect(back, Map.of(CART_COOKIE, encodeCart(cart)));
+    }
+
+    private Response notLoggedIn(String path) {
+        return Response.html(loginPage(
+                "Epic sadface: You can only access '%s' when you are logged in.".formatted(path)));
+    }
+
+    // ----------------------- Pages -----------------------
+
+    private String loginPage(String error) {
+        StringBuilder html = new StringBuilder(2048);
+        head(html, "Swag Labs");
+        html.append("<div class=\"login_container\">")
+                .append("<div class=\"login_logo\">Swag Labs</div>")
+                .append("<div class=\"login_wrapper\"><div class=\"login_wrapper-inner\">")
+                .append("<div id=\"login_button_container\" class=\"form_column\"><div class=\"login-box\">")
+                .append("<form method=\"post\" action=\"/login\">")
+                .append("<div class=\"form_group\"><input class=\"input_error form_input\" placeholder=\"Username\" type=\"text\" data-test=\"username\" id=\"user-name\" name=\"user-name\" autocorrect=\"off\" autocapitalize=\"none\" value=\"\"></div>")
+                .append("<div class=\"form_group\"><input class=\"input_error form_input\" placeholder=\"Password\" type=\"password\" data-test=\"password\" id=\"password\" name=\"password\" autocorrect=\"off\" autocapitalize=\"none\" value=\"\"></div>");
+        if (error != null) {
+            html.append("<div class=\"error-message-container error\"><h3 data-test=\"error\">")
+                    .append(escape(error))
+                    .append("</h3></div>");
+        } else {
+            html.append("<div class=\"error-message-container\"></div>");
+        }
+        html.append("<input type=\"submit\" class=\"submit-button btn_action\" data-test=\"login-button\" id=\"login-button\" name=\"login-button\" value=\"Login\">")
+                .append("</form></div></div></div></div></div>");
+        tail(html, null);
+        return html.toString();
+    }
+
+    private String inventoryPage(String user, List<Integer> cart) {
+        StringBuilder html = new StringBuilder(1024 + catalog.size() * 900);
+        head(html, "Swag Labs");
+        header(html, "Products", cart.size());
+        html.append("<div id=\"inventory_container\" class=\"inventory_container\"><div>")
+                .append("<div class=\"inventory_list\" data-test=\"inventory-list\">");
+
+        for (Catalog.Item item : catalog.items()) {
+            int linkId = linkTarget(user, item.id());
+            String price = user.equals("visual_user") ? visualPrice(item) : item.formattedPrice();
+            boolean inCart = cart.contains(item.id());
+
+            html.append("<div class=\"inventory_item\" data-test=\"inventory-item\">")
+                    .append("<div class=\"inventory_item_img\"><a href=\"/inventory-item.html?id=").append(linkId)
+                    .append("\" id=\"item_").append(item.id()).append("_img_link\" data-test=\"item-").append(item.id())
+                    .append("-img-link\"><img alt=\"").append(escape(item.name()))
+                    .append("\" class=\"inventory_item_img\"></a></div>")
+                    .append("<div class=\"inventory_item_description\" data-test=\"inventory-item-description\">")
+                    .append("<div class=\"inventory_item_label\"><a href=\"/inventory-item.html?id=").append(linkId)
+                    .append("\" id=\"item_").append(item.id()).append("_title_link\" data-test=\"item-").append(item.id())
+                    .append("-title-link\"><div class=\"inventory_item_name \" data-test=\"inventory-item-name\">")
+                    .append(escape(item.name())).append("</div></a>")
+                    .append("<div class=\"inventory_item_desc\" data-test=\"inventory-item-desc\">")
+                    .append(escape(item.description())).append("</div></div>")
+                    .append("<div class=\"pricebar\"><div class=\"inventory_item_price\" data-test=\"inventory-item-price\">")
+                    .append(price).append("</div>");
+            cartButton(html, item, inCart, inCart ? "remove-" + item.slug() : "add-to-cart-" + item.slug(), "/inventory.html");
+            html.append("</div></div></div>");
+        }
+
+        html.append("</div></div></div>");
+        tail(html, cart);
+        return html.toString();
+    }
+
+    private String detailsPage(String user, List<Integer> cart, Integer id) {
+        Catalog.Item item = id == null ? null : catalog.find(id);
+        StringBuilder html = new StringBuilder(4096);
+        head(html, "Swag Labs");
+        header(html, null, cart.size());
+        html.append("<div class=\"inventory_details\" data-test=\"inventory-container\">");
+
+        if (item == null) {
+            html.append("<div class=\"inventory_details_container\"><div class=\"inventory_details_desc_container\">")
+                    .append("<div class=\"inventory_details_name large_size\" data-test=\"inventory-item-name\">ITEM NOT FOUND</div>")
+                    .append("</div></div>");
+        } else {
+            boolean inCart = cart.contains(item.id());
+            html.append("<div class=\"inventory_details_container\">")
+                    .append("<div class=\"inventory_details_img_container\"><img alt=\"").append(escape(item.name()))
+                    .append("\" class=\"inventory_details_img\"></div>")
+                    .append("<div class=\"inventory_details_desc_container\">")
+                    .append("<div class=\"inventory_details_name large_size\" data-test=\"inventory-item-name\">")
+                    .append(escape(item.name())).append("</div>")
+                    .append("<div class=\"inventory_details_desc large_size\" data-test=\"inventory-item-desc\">")
+                    .append(escape(item.description())).append("</div>")
+                    .append("<div class=\"inventory_details_price\" data-test=\"inventory-item-price\">")
+                    .append(item.formattedPrice()).append("</div>");
+            cartButton(html, item, inCart, inCart ? "remove" : "add-to-cart", "/inventory-item.html?id=" + item.id());
+            html.append("</div></div>");
+        }
+
+        html.append("</div>");
+        tail(html, cart);
+        return html.toString();
+    }
+
+    private String cartPage(List<Integer> cart) {
+        StringBuilder html = new StringBuilder(2048 + cart.size() * 900);
+        head(html, "Swag Labs");
+        header(html, "Your Cart", cart.size());
+        html.append("<div id=\"cart_contents_container\" class=\"cart_contents_container\"><div>")
+                .append("<div class=\"cart_list\" data-test=\"cart-list\">")
+                .append("<div class=\"cart_quantity_label\" data-test=\"cart-quantity-label\">QTY</div>")
+                .append("<div class=\"cart_desc_label\" data-test=\"cart-desc-label\">Description</div>");
+
+        for (Integer id : cart) {
+            Catalog.Item item = catalog.find(id);
+            if (item == null) continue;
+            html.append("<div class=\"cart_item\" data-test=\"inventory-item\">")
+                    .append("<div class=\"cart_quantity\" data-test=\"item-quantity\">1</div>")
+                    .append("<div class=\"cart_item_label\"><a href=\"/inventory-item.html?id=").append(item.id())
+                    .append("\" id=\"item_").append(item.id()).append("_title_link\" data-test=\"item-").append(item.id())
+                    .append("-title-link\"><div class=\"inventory_item_name\" data-test=\"inventory-item-name\">")
+                    .append(escape(item.name())).append("</div></a>")
+                    .append("<div class=\"inventory_item_desc\" data-test=\"inventory-item-desc\">")
+                    .append(escape(item.description())).append("</div>")
+                    .append("<div class=\"item_pricebar\"><div class=\"inventory_item_price\" data-test=\"inventory-item-price\">")
+                    .append(item.formattedPrice()).append("</div>");
+            cartButton(html, item, true, "remove-" + item.slug(), "/cart.html");
+            html.append("</div></div></div>");
+        }
+
+        html.append("</div><div class=\"cart_footer\">")
+                .append("<a class=\"btn btn_secondary back btn_medium\" data-test=\"continue-shopping\" id=\"continue-shopping\" href=\"/inventory.html\">Continue Shopping</a>")
+                .append("</div></div></div>");
+        tail(html, cart);
+        return html.toString();
+    }
+
+    // ----------------------- Fragments -----------------------
+
+    private void head(StringBuilder html, String title) {
+        html.append("<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"utf-8\"><title>")
+                .append(title)
+                .append("</title><style>")
+                .append("body{font-family:sans-serif;margin:0}")
+                .append(".inventory_list{display:flex;flex-wrap:wrap}")
+                .append(".inventory_item{width:45%;margin:8px;border:1px solid #ddd}")
+                .append("img{width:64px;height:64px;background:#eee}")
+                .append("</style></head><body><div id=\"root\"><div id=\"page_wrapper\" class=\"page_wrapper\">");
+    }
+
+    private void header(StringBuilder html, String title, int cartCount) {
+        html.append("<div id=\"header_container\" class=\"header_container\" data-test=\"header-container\">")
+                .append("<div class=\"primary_header\" data-test=\"primary-header\">")
+                .append("<div class=\"header_label\"><div class=\"app_logo\">Swag Labs</div></div>")
+                .append("<div id=\"shopping_cart_container\" class=\"shopping_cart_container\">")
+                .append("<a class=\"shopping_cart_link\" data-test=\"shopping-cart-link\" href=\"/cart.html\">");
+        if (cartCount > 0) {
+            html.append("<span class=\"shopping_cart_badge\" data-test=\"shopping-cart-badge\">")
+                    .append(cartCount).append("</span>");
+        }
+        html.append("</a></div></div>")
+                .append("<div class=\"header_secondary_container\" data-test=\"secondary-header\">");
+        if (title != null) {
+            html.append("<span class=\"title\" data-test=\"title\">").append(title).append("</span>");
+        } else {
+            html.append("<a class=\"btn btn_secondary back btn_large inventory_details_back_button\" data-test=\"back-to-products\" id=\"back-to-products\" href=\"/inventory.html\">Back to products</a>");
+        }
+        html.append("</div></div>");
+    }
+
+    private void cartButton(StringBuilder html, Catalog.Item item, boolean inCart, String buttonId, String returnPath) {
+        html.append("<form method=\"post\" action=\"").append(inCart ? "/cart/remove" : "/cart/add").append("\">")
+                .append("<input type=\"hidden\" name=\"id\" value=\"").append(item.id()).append("\">")
+                .append("<input type=\"hidden\" name=\"return\" value=\"").append(escape(returnPath)).append("\">")
+                .append("<button class=\"btn ").append(inCart ? "btn_secondary" : "btn_primary")
+                .append(" btn_small btn_inventory\" data-test=\"").append(buttonId)
+                .append("\" id=\"").append(buttonId).append("\" name=\"").append(buttonId).append("\">")
+                .append(inCart ? "Remove" : "Add to cart")
+                .append("</button></form>");
+    }
+
+    private void tail(StringBuilder html, List<Integer> cart) {
+        html.append("</div></div>");
+        if (cart != null) {
+            // Mirror the cart into localStorage the way the public site stores it
+            html.append("<script>try{localStorage.setItem('cart-contents','")
+                    .append(cart.toString().replace(" ", ""))
+                    .append("');}catch(e){}</script>");
+        }
+        html.append("</body></html>");
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    private void glitch() {
+        if (glitchDelayMillis <= 0) return;
+        try {
+            Thread.sleep(glitchDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** problem_user: every product link points at the next product instead of itself. */
+    private int linkTarget(String user, int id) {
+        if (!user.equals("problem_user")) return id;
+        List<Catalog.Item> items = catalog.items();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).id() == id) {
+                return items.get((i + 1) % items.size()).id();
+            }
+        }
+        return id;
+    }
+
+    /** visual_user: deterministic per-item price that does not match the details page. */
+    private String visualPrice(Catalog.Item item) {
+        Random random = new Random(item.id());
+        return "$%d.99".formatted(1 + random.nextInt(99));
+    }
+
+    /** Reads the cart cookie: product ids joined by '.', e.g. "4.5". */
+    private List<Integer> cart(Request request) {
+        List<Integer> ids = new ArrayList<>();
+        String value = request.cookies().get(CART_COOKIE);
+        if (value == null || value.isEmpty()) return ids;
+
+        for (String part : value.split("\\.")) {
+            Integer id = parseId(part);
+            if (id != null && !ids.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /** Writes the cart cookie value; ids are joined by '.' because ',' is not a legal cookie octet. */
+    public static String encodeCart(List<Integer> ids) {
+        StringBuilder value = new StringBuilder();
+        for (Integer id : ids) {
+            if (!value.isEmpty()) value.append('.');
+            value.append(id);
+        }
+        return value.toString();
+    }
+
+    private static Integer parseId(String text) {
+        if (text == null) return null;
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,177 @@
+package server;
+
+import base.TestBase;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import configuration.ReadConfig;
+import org.slf4j.Logger;
+import pages.AppState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server (JDK com.sun.net.httpserver) serving SauceDemoApp on localhost.
+ * Used for deterministic, offline runs: no internet latency and no dependency on the
+ * public site being reachable. Enabled with stubServer=true in config.properties or
+ * USE_STUB_SERVER=true; Hooks.globalSetup starts it and points TestBase at it.
+ * <p>
+ * Note: browsers on a Selenium Grid node cannot reach the test JVM's localhost,
+ * so the stub is meant for local (and containerised single-host) execution.
+ */
+public class SauceDemoStubServer {
+
+    private static final Logger logger = TestBase.logger;
+
+    private static SauceDemoStubServer shared;
+    private static ReplicaCartStore sharedCartStore;
+
+    private final SauceDemoApp app;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public SauceDemoStubServer(SauceDemoApp app, int port) throws IOException {
+        this.app = app;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // Cached pool: the glitch delay must not hold up other sessions' requests
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "saucedemo-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the shared stub server when it is enabled in configuration and points
+     * TestBase.getBaseUrl() at it. Safe to call more than once.
+     */
+    public static synchronized void startIfEnabled() throws IOException {
+        ReadConfig config = ReadConfig.getInstance();
+        boolean enabled = Boolean.parseBoolean(
+                System.getenv().getOrDefault("USE_STUB_SERVER", String.valueOf(config.isStubServerEnabled())));
+        if (!enabled || shared != null) {
+            return;
+        }
+
+        int catalogSize = Integer.parseInt(
+                System.getenv().getOrDefault("STUB_CATALOG_SIZE", String.valueOf(config.getStubCatalogSize())));
+        Catalog catalog = Catalog.ofSize(catalogSize, config.getStubCatalogSeed());
+
+        shared = new SauceDemoStubServer(new SauceDemoApp(catalog, config.getStubGlitchDelayMillis()), config.getStubPort());
+        shared.start();
+        TestBase.setBaseUrl(shared.baseUrl());
+        String baseUrl = shared.baseUrl();
+        sharedCartStore = new ReplicaCartStore(driver -> driver.getCurrentUrl().startsWith(baseUrl));
+        AppState.registerCartStore(sharedCartStore);
+        logger.info("SauceDemo stub server started at {} with {} catalog items", shared.baseUrl(), catalog.size());
+    }
+
+    /** Stops the shared stub server if it was started. */
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+            TestBase.setBaseUrl(null);
+            AppState.unregisterCartStore(sharedCartStore);
+            sharedCartStore = null;
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("SauceDemo stub server stopped.");
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    // ----------------------- HTTP adapter -----------------------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseParameters(exchange.getRequestURI().getRawQuery());
+            Map<String, String> form = "POST".equals(method)
+                    ? parseParameters(readBody(exchange.getRequestBody()))
+                    : Map.of();
+            Map<String, String> cookies = parseCookies(exchange.getRequestHeaders().get("Cookie"));
+
+            SauceDemoApp.Response response = app.handle(new SauceDemoApp.Request(method, path, query, form, cookies));
+
+            response.setCookies().forEach((name, value) -> exchange.getResponseHeaders().add("Set-Cookie",
+                    value == null
+                            ? name + "=; Path=/; Max-Age=0"
+                            : name + "=" + value + "; Path=/"));
+            if (response.location() != null) {
+                exchange.getResponseHeaders().set("Location", response.location());
+            }
+            exchange.getResponseHeaders().set("Content-Type", response.contentType());
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Stub server failed to handle {}: {}", exchange.getRequestURI(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /** Decodes an application/x-www-form-urlencoded string (query string or form body). */
+    public static Map<String, String> parseParameters(String raw) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static Map<String, String> parseCookies(List<String> headers) {
+        Map<String, String> cookies = new HashMap<>();
+        if (headers == null) return cookies;
+
+        for (String header : headers) {
+            for (String part : header.split(";")) {
+                int eq = part.indexOf('=');
+                if (eq > 0) {
+                    cookies.put(part.substring(0, eq).trim(), part.substring(eq + 1).trim());
+                }
+            }
+        }
+        return cookies;
+    }
+}
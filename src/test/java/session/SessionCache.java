@@ -0,0 +1,154 @@
+package session;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import metrics.FrameworkMetrics;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import pages.LoginPage;
+import pages.ProductsPage;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-run cache of the post-login browser state (cookies and localStorage) of each user, keyed
+ * by username and password so a step with other credentials never gets someone's session.
+ * <p>
+ * The first verified UI login of a user records its state; scenarios whose subject is not the
+ * login itself ("I am logged in as ...") then inject that state into their fresh session and open
+ * the inventory page directly, skipping the login form. An entry is dropped when it expires
+ * (sessionCacheTtlSeconds, or the earliest cookie expiry) or when the injected session does not
+ * land on the Products page; the step then falls back to the UI login and records again.
+ * Disable with sessionCache=false (SESSION_CACHE=false).
+ */
+public final class SessionCache {
+
+    /** Reads localStorage into a plain object. */
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var state = {}; for (var i = 0; i < window.localStorage.length; i++) {"
+                    + " var key = window.localStorage.key(i); state[key] = window.localStorage.getItem(key); }"
+                    + " return state;";
+
+    /** Replaces localStorage with the entries of arguments[0]. */
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "window.localStorage.clear(); var state = arguments[0];"
+                    + " for (var key in state) { window.localStorage.setItem(key, state[key]); }";
+
+    private static final Logger logger = TestBase.logger;
+
+    /** The credentials a session was logged in with. */
+    private record Credentials(String username, String password) {}
+
+    private static final Map<Credentials, SessionState> sessions = new ConcurrentHashMap<>();
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getenv()
+            .getOrDefault("SESSION_CACHE", String.valueOf(ReadConfig.getInstance().isSessionCacheEnabled())));
+
+    private static final Duration TTL = Duration.ofSeconds(ReadConfig.getInstance().getSessionCacheTtlSeconds());
+
+    private SessionCache() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records the current thread's session for the user unless a valid entry already exists.
+     * Call only after the login has been verified (Products page displayed).
+     */
+    public static void recordIfAbsent(String username, String password) {
+        if (!ENABLED) return;
+        Credentials credentials = new Credentials(username, password);
+        SessionState cached = sessions.get(credentials);
+        if (cached != null && !cached.isExpired(Instant.now())) return;
+        sessions.put(credentials, capture(username, TestBase.getDriver()));
+        logger.info("Session state cached for user '{}'", username);
+    }
+
+    /**
+     * Logs the user in on the current thread's driver and leaves it on the Products page:
+     * from the cached state when possible, otherwise through the login form.
+     *
+     * @return true if the cached state was used
+     */
+    public static boolean login(String username, String password) {
+        if (ENABLED && restore(new Credentials(username, password))) {
+            FrameworkMetrics.sessionCacheLookup("hit");
+            return true;
+        }
+        FrameworkMetrics.sessionCacheLookup("miss");
+
+        LoginPage loginPage = new LoginPage();
+        loginPage.navigateToBaseUrl();
+        loginPage.login(username, password);
+        if (new ProductsPage().isProductsPageDisplayed()) {
+            recordIfAbsent(username, password);
+        }
+        return false;
+    }
+
+    /** Drops every cached session of the user, whatever password it was recorded with. */
+    public static void invalidate(String username) {
+        sessions.keySet().removeIf(credentials -> credentials.username().equals(username));
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    private static boolean restore(Credentials credentials) {
+        String username = credentials.username();
+        SessionState state = sessions.get(credentials);
+        if (state == null) return false;
+        if (state.isExpired(Instant.now())) {
+            logger.info("Cached session of user '{}' expired", username);
+            sessions.remove(credentials, state);
+            return false;
+        }
+
+        WebDriver driver = TestBase.getDriver();
+        // Cookies can only be set for the domain of the current page
+        driver.get(TestBase.getBaseUrl());
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : state.cookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        // Drivers without JavaScript (the fake driver) have no web storage; the cookies carry the login
+        if (driver instanceof JavascriptExecutor js) {
+            js.executeScript(RESTORE_STORAGE_SCRIPT, state.localStorage());
+        }
+        driver.get(URI.create(TestBase.getBaseUrl()).resolve("/inventory.html").toString());
+
+        if (driver.getCurrentUrl().contains("inventory.html") && new ProductsPage().isProductsPageDisplayed()) {
+            logger.info("Restored cached session of user '{}'", username);
+            return true;
+        }
+        logger.warn("Cached session of user '{}' was rejected; logging in through the UI", username);
+        FrameworkMetrics.sessionCacheLookup("rejected");
+        sessions.remove(credentials, state);
+        return false;
+    }
+
+    private static SessionState capture(String username, WebDriver driver) {
+        Map<String, String> storage = new LinkedHashMap<>();
+        Object captured = driver instanceof JavascriptExecutor js ? js.executeScript(CAPTURE_STORAGE_SCRIPT) : null;
+        if (captured instanceof Map<?, ?> entries) {
+            entries.forEach((key, value) -> storage.put(String.valueOf(key), String.valueOf(value)));
+        }
+
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Instant expiresAt = Instant.now().plus(TTL);
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiresAt)) {
+                expiresAt = cookie.getExpiry().toInstant();
+            }
+        }
+        return new SessionState(username, cookies, storage, expiresAt);
+    }
+}
@@ -0,0 +1,23 @@
+package session;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Browser auth state captured right after a verified login: the cookies of the application
+ * domain and the localStorage entries, valid until {@code expiresAt}.
+ */
+public record SessionState(String username, Set<Cookie> cookies, Map<String, String> localStorage, Instant expiresAt) {
+
+    public SessionState {
+        cookies = Set.copyOf(cookies);
+        localStorage = Map.copyOf(localStorage);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
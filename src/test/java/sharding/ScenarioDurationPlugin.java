@@ -0,0 +1,46 @@
+package sharding;
+
+import base.TestBase;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin measuring each scenario (hooks included, i.e. what a shard actually spends)
+ * and, when shardRecordTimings is enabled, merging the durations into the timings file
+ * so the next sharded run is planned from fresh data.
+ */
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        String key = ScenarioTimings.keyOf(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine());
+        measured.put(key, event.getResult().getDuration().toMillis());
+    }
+
+    private void onTestRunFinished() {
+        long total = measured.values().stream().mapToLong(Long::longValue).sum();
+        ShardSettings settings = ShardSettings.fromConfig();
+        TestBase.logger.info("Shard {}/{}{} ran {} scenario(s) in {} ms (scenario time)",
+                settings.index(), settings.count(),
+                settings.isForked() ? ", fork " + settings.forkIndex() + "/" + settings.forkCount() : "",
+                measured.size(), total);
+
+        if (!settings.recordTimings() || measured.isEmpty()) {
+            return;
+        }
+        ScenarioTimings.record(settings.timingsFile(), measured);
+        TestBase.logger.info("Recorded {} scenario duration(s) to {}", measured.size(), settings.timingsFile());
+    }
+}
@@ -0,0 +1,77 @@
+package sharding;
+
+import base.TestBase;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filters the TestNG scenario data provider down to this node's shard and, in a fork JVM, to this
+ * fork's part of that shard (the same plan on the node's scenarios, so every fork agrees on it).
+ * Rows are {@code [PickleWrapper, FeatureWrapper]} as produced by AbstractTestNGCucumberTests.
+ */
+public final class ScenarioSharding {
+
+    private ScenarioSharding() {}
+
+    public static Object[][] select(Object[][] scenarios) {
+        ShardSettings settings = ShardSettings.fromConfig();
+        if (!settings.isSharded() && !settings.isForked()) {
+            return scenarios;
+        }
+
+        ScenarioTimings timings = ScenarioTimings.load(settings.timingsFile());
+        List<String> unknown = Arrays.stream(scenarios).map(ScenarioSharding::keyOf).filter(key -> !timings.contains(key)).toList();
+        if (timings.size() == 0) {
+            TestBase.logger.warn("No scenario timings in {}: splitting by scenario count, not duration. Record them once with"
+                    + " an unsharded run (SHARD_RECORD_TIMINGS=true mvn clean test) and commit the file.", settings.timingsFile());
+        } else if (!unknown.isEmpty()) {
+            TestBase.logger.warn("{} scenario(s) have no recorded duration, estimating {} ms each: {}",
+                    unknown.size(), settings.defaultEstimateMillis(), unknown);
+        }
+
+        Object[][] selected = scenarios;
+        if (settings.isSharded()) {
+            selected = part(selected, timings, settings, "Shard", settings.index(), settings.count(), "this node");
+        }
+        if (settings.isForked()) {
+            selected = part(selected, timings, settings, "Fork", settings.forkIndex(), settings.forkCount(), "this fork");
+        }
+        return selected;
+    }
+
+    /** Part {@code index} of {@code count} duration-balanced parts of the given rows. */
+    private static Object[][] part(Object[][] scenarios, ScenarioTimings timings, ShardSettings settings,
+                                   String level, int index, int count, String self) {
+        List<String> keys = new ArrayList<>(scenarios.length);
+        for (Object[] row : scenarios) {
+            keys.add(keyOf(row));
+        }
+
+        List<ShardPlanner.Shard> plan = ShardPlanner.plan(keys,
+                key -> timings.estimateMillis(key, settings.defaultEstimateMillis()), count);
+        for (ShardPlanner.Shard shard : plan) {
+            TestBase.logger.info("{} {}/{}: {} scenario(s), estimated {} ms{}", level, shard.index(), count,
+                    shard.keys().size(), shard.estimatedMillis(), shard.index() == index ? " <- " + self : "");
+        }
+
+        Set<String> mine = new HashSet<>(plan.get(index).keys());
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            if (mine.contains(keyOf(row))) {
+                selected.add(row);
+            }
+        }
+        return selected.toArray(new Object[0][]);
+    }
+
+    private static String keyOf(Object[] row) {
+        Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+        return ScenarioTimings.keyOf(pickle.getUri(), pickle.getLine());
+    }
+}
@@ -0,0 +1,72 @@
+package sharding;
+
+import utilities.LockedProperties;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Historical scenario durations, persisted as a properties file of
+ * {@code <feature path>:<line>=<millis>} entries.
+ * The key uses the pickle line, so each Scenario Outline example row has its own entry.
+ * The file is read and updated under a file lock (utilities.LockedProperties), as runs sharing a
+ * checkout, e.g. a forked run next to a plain one, may record into it at the same time.
+ */
+public class ScenarioTimings {
+
+    private static final String COMMENT = "Scenario durations in milliseconds (feature:line=millis), used by sharding.ShardPlanner";
+
+    private final Map<String, Long> millisByKey = new TreeMap<>();
+
+    /** Loads the file, or returns empty timings when it does not exist yet. */
+    public static ScenarioTimings load(Path file) {
+        ScenarioTimings timings = new ScenarioTimings();
+        if (!Files.exists(file)) {
+            return timings;
+        }
+
+        Properties properties = LockedProperties.read(file);
+        properties.forEach((key, value) -> timings.millisByKey.put((String) key, Long.parseLong(((String) value).trim())));
+        return timings;
+    }
+
+    /**
+     * Stable key for a scenario: the feature path relative to the working directory
+     * (so keys match across machines and checkouts) plus the pickle line.
+     */
+    public static String keyOf(URI featureUri, int line) {
+        URI relative = Path.of("").toAbsolutePath().toUri().relativize(featureUri);
+        String path = relative.isAbsolute() ? relative.getSchemeSpecificPart() : relative.getPath();
+        return path + ":" + line;
+    }
+
+    public long estimateMillis(String key, long defaultEstimateMillis) {
+        return millisByKey.getOrDefault(key, defaultEstimateMillis);
+    }
+
+    public boolean contains(String key) {
+        return millisByKey.containsKey(key);
+    }
+
+    public int size() {
+        return millisByKey.size();
+    }
+
+    /**
+     * Merges measured durations into the file under an exclusive lock. Known scenarios keep the
+     * mean of the previous value and the new one, so a single slow (or unusually fast) run does
+     * not swing the next plan. Entries are written sorted by key, which keeps a committed file
+     * diff-friendly.
+     */
+    public static void record(Path file, Map<String, Long> measuredMillis) {
+        LockedProperties.update(file, COMMENT, entries -> measuredMillis.forEach((key, millis) -> {
+            String previous = entries.getProperty(key);
+            long merged = previous == null ? millis : (Long.parseLong(previous.trim()) + millis) / 2;
+            entries.setProperty(key, String.valueOf(merged));
+        }));
+    }
+}
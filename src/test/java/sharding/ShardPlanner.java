@@ -0,0 +1,51 @@
+package sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Greedy LPT (longest processing time first) scheduler.
+ * Scenarios are sorted by estimated duration, longest first, and each one goes to the shard
+ * with the smallest total so far. Slow outliers are spread first and the many short scenarios
+ * fill the gaps, so shard totals end up close to each other.
+ * <p>
+ * The plan is deterministic (ties broken by key and shard index): every CI node computes
+ * the same plan independently and simply runs its own shard.
+ */
+public final class ShardPlanner {
+
+    /** One shard of the plan. */
+    public record Shard(int index, List<String> keys, long estimatedMillis) {}
+
+    private ShardPlanner() {}
+
+    public static List<Shard> plan(List<String> keys, ToLongFunction<String> estimateMillis, int shardCount) {
+        List<String> longestFirst = new ArrayList<>(keys);
+        longestFirst.sort(Comparator.comparingLong(estimateMillis).reversed().thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> assigned = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(shard -> loads[shard]).thenComparingInt(shard -> shard));
+        for (int shard = 0; shard < shardCount; shard++) {
+            assigned.add(new ArrayList<>());
+            leastLoaded.add(shard);
+        }
+
+        for (String key : longestFirst) {
+            int shard = leastLoaded.poll();
+            assigned.get(shard).add(key);
+            loads[shard] += estimateMillis.applyAsLong(key);
+            leastLoaded.add(shard);
+        }
+
+        List<Shard> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(new Shard(shard, List.copyOf(assigned.get(shard)), loads[shard]));
+        }
+        return shards;
+    }
+}
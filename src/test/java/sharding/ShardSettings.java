@@ -0,0 +1,62 @@
+package sharding;
+
+import configuration.ReadConfig;
+
+import java.nio.file.Path;
+
+/**
+ * Sharding settings for one CI node, and for one fork JVM within it.
+ * Values come from config.properties and can be overridden with environment variables
+ * (SHARD_INDEX, SHARD_COUNT, SHARD_TIMINGS_FILE, SHARD_RECORD_TIMINGS). FORK_INDEX/FORK_COUNT
+ * are set only by fork.ForkedRunLauncher in its forks: the node's shard is split again across them.
+ *
+ * @param index                   0-based index of this node's shard
+ * @param count                   total number of shards; 1 disables sharding
+ * @param forkIndex               0-based index of this fork within the node's shard
+ * @param forkCount               number of forks splitting the node's shard; 1 outside forked mode
+ * @param timingsFile             persisted per-scenario durations used for planning
+ * @param defaultEstimateMillis   estimate for scenarios missing from the timings file
+ * @param recordTimings           write this run's durations back to the timings file
+ */
+public record ShardSettings(int index,
+                            int count,
+                            int forkIndex,
+                            int forkCount,
+                            Path timingsFile,
+                            long defaultEstimateMillis,
+                            boolean recordTimings) {
+
+    public ShardSettings {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1 but was " + count);
+        }
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (count - 1) + " but was " + index);
+        }
+        if (forkCount < 1 || forkIndex < 0 || forkIndex >= forkCount) {
+            throw new IllegalArgumentException("Fork index must be between 0 and " + (forkCount - 1) + " but was " + forkIndex);
+        }
+    }
+
+    public static ShardSettings fromConfig() {
+        ReadConfig config = ReadConfig.getInstance();
+        return new ShardSettings(
+                Integer.parseInt(System.getenv().getOrDefault("SHARD_INDEX", String.valueOf(config.getShardIndex()))),
+                Integer.parseInt(System.getenv().getOrDefault("SHARD_COUNT", String.valueOf(config.getShardCount()))),
+                Integer.parseInt(System.getenv().getOrDefault("FORK_INDEX", "0")),
+                System.getenv().containsKey("FORK_INDEX") ? Integer.parseInt(System.getenv("FORK_COUNT")) : 1,
+                Path.of(System.getenv().getOrDefault("SHARD_TIMINGS_FILE", config.getShardTimingsFile())),
+                config.getShardDefaultEstimateMillis(),
+                Boolean.parseBoolean(System.getenv().getOrDefault("SHARD_RECORD_TIMINGS",
+                        String.valueOf(config.isShardRecordTimings())))
+        );
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public boolean isForked() {
+        return forkCount > 1;
+    }
+}
@@ -4,13 +4,18 @@ import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.testng.Assert;
+import pages.AppState;
 import pages.LoginPage;
 import pages.ProductsPage;
+import session.SessionCache;
+
+import java.util.List;
 
 public class SauceDemoSteps {
 
     private final LoginPage loginPage = new LoginPage();
     private final ProductsPage productsPage = new ProductsPage();
+    private final AppState appState = new AppState();
 
     //The chosen item so later steps can validate name/price match.
     private ProductsPage.ProductInfo highestPriceItem;
@@ -36,6 +41,19 @@ public class SauceDemoSteps {
         // Assertions
         Assert.assertTrue(productsPage.isProductsPageDisplayed(), "Products page was not displayed after login.");
         Assert.assertEquals(productsPage.getProductsPageTitle(), "Products", "Unexpected Products page title.");
+
+        // Later "I am logged in as" steps of this user can skip the login form
+        SessionCache.recordIfAbsent(username, password);
+    }
+
+    @Given("I am logged in as {string} with password {string}")
+    public void iAmLoggedInAs(String username, String password) {
+        // For scenarios about what happens after login: reuses the user's cached session when valid
+        SessionCache.login(username, password);
+
+        // Assertions
+        Assert.assertTrue(productsPage.isProductsPageDisplayed(), "Products page was not displayed after login.");
+        Assert.assertEquals(productsPage.getProductsPageTitle(), "Products", "Unexpected Products page title.");
     }
 
     @When("I select the highest priced item without using sort")
@@ -49,10 +67,11 @@ public class SauceDemoSteps {
 
         productsPage.openItemDetails(highestPriceItem);
 
-        // Business assertion: details page should match selected item (name + price)
-        Assert.assertEquals(productsPage.getDetailsItemName(), highestPriceItem.name(),
+        // Business assertion: details page should match selected item (name + price), read in one snapshot
+        ProductsPage.DetailsState details = productsPage.getDetailsState();
+        Assert.assertEquals(details.name(), highestPriceItem.name(),
                 "Details page item name does not match selected highest priced item.");
-        Assert.assertEquals(productsPage.getDetailsItemPrice(), highestPriceItem.price(),
+        Assert.assertEquals(details.price(), highestPriceItem.price(),
                 "Details page item price does not match selected highest priced item.");
     }
 
@@ -64,18 +83,34 @@ public class SauceDemoSteps {
         Assert.assertEquals(productsPage.getCartBadgeCount(), 1, "Cart badge count is not 1 after adding item.");
     }
 
+    @Given("the cart contains the item {string}")
+    public void theCartContainsTheItem(String itemName) {
+        // Seeds the cart directly and lands on the cart page (no inventory/details interactions)
+        appState.openCartWith(List.of(AppState.itemId(itemName)));
+    }
+
+    @Then("the cart should contain the item {string}")
+    public void theCartShouldContainTheItem(String itemName) {
+        ProductsPage.CartState cart = productsPage.getCartState();
+        Assert.assertEquals(cart.title(), "Your Cart", "Cart page title mismatch.");
+        Assert.assertTrue(cart.removeButtonVisible(), "Remove button not visible (cart may be empty).");
+        Assert.assertEquals(cart.firstItem().name(), itemName, "Cart item name mismatch.");
+    }
+
     @Then("the cart should contain the selected highest priced item")
     public void theCartShouldContainTheSelectedHighestPricedItem() {
         productsPage.openCart();
 
+        ProductsPage.CartState cart = productsPage.getCartState();
+
         // Business assertion: cart page opened correctly
-        Assert.assertEquals(productsPage.getCartPageTitle(), "Your Cart", "Cart page title mismatch.");
-        Assert.assertTrue(productsPage.isRemoveButtonVisible(), "Remove button not visible (cart may be empty).");
+        Assert.assertEquals(cart.title(), "Your Cart", "Cart page title mismatch.");
+        Assert.assertTrue(cart.removeButtonVisible(), "Remove button not visible (cart may be empty).");
 
         // Business assertion: correct item is present in cart (name + price)
-        Assert.assertEquals(productsPage.getCartItemName(), highestPriceItem.name(),
+        Assert.assertEquals(cart.firstItem().name(), highestPriceItem.name(),
                 "Cart item name does not match selected highest priced item.");
-        Assert.assertEquals(productsPage.getCartItemPrice(), highestPriceItem.price(),
+        Assert.assertEquals(cart.firstItem().price(), highestPriceItem.price(),
                 "Cart item price does not match selected highest priced item.");
     }
 }
@@ -0,0 +1,158 @@
+package trace;
+
+import base.TestBase;
+import configuration.ReadConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static trace.TraceFormat.NAMES_FILE;
+import static trace.TraceFormat.RUN_FILE;
+import static trace.TraceFormat.STATUS_ERROR;
+import static trace.TraceFormat.STATUS_OK;
+import static trace.TraceFormat.THREAD_FILE_SUFFIX;
+
+/**
+ * Always-on, low-overhead trace of driver commands, navigations, wait polls and step boundaries.
+ * <p>
+ * Each thread appends 32-byte records to its own memory-mapped file under
+ * {@code traceDir/<run>/} (see TraceFormat). Names (commands, steps, wait conditions) are
+ * interned once into names.tsv and referenced by id, so recording an event is a map lookup
+ * plus a few buffer puts. Read with TraceCli (timeline, hotspots, Chrome trace JSON).
+ * <p>
+ * Enabled with trace=true (TRACE); when disabled, or when the trace directory cannot be
+ * created, every method returns immediately.
+ */
+public final class Trace {
+
+    private static final long NANO_BASE = System.nanoTime();
+    private static final long EPOCH_MILLIS_AT_BASE = System.currentTimeMillis();
+
+    private static final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextNameId = new AtomicInteger();
+    private static final AtomicInteger nextThreadFile = new AtomicInteger();
+    private static final ThreadLocal<TraceWriter> writers = new ThreadLocal<>();
+
+    private static Writer namesWriter;
+    private static final Path runDirectory = Boolean.parseBoolean(System.getenv()
+            .getOrDefault("TRACE", String.valueOf(ReadConfig.getInstance().isTraceEnabled()))) ? createRunDirectory() : null;
+
+    public static final boolean ENABLED = runDirectory != null;
+
+    private Trace() {}
+
+    /** Nano timestamp used for record start times. */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    public static void stepBegin(String step) {
+        if (!ENABLED) return;
+        write(TraceFormat.TYPE_STEP_BEGIN, STATUS_OK, step, now(), 0, 0);
+    }
+
+    public static void step(String step, long start, long duration, boolean failed) {
+        if (!ENABLED) return;
+        write(TraceFormat.TYPE_STEP, failed ? STATUS_ERROR : STATUS_OK, step, start, duration, 0);
+    }
+
+    public static void command(String command, long start, long duration, int payload, boolean failed) {
+        if (!ENABLED) return;
+        write(isNavigation(command) ? TraceFormat.TYPE_NAVIGATION : TraceFormat.TYPE_COMMAND,
+                failed ? STATUS_ERROR : STATUS_OK, command, start, duration, payload);
+    }
+
+    public static void waitPoll(String condition, long start, long duration, boolean satisfied) {
+        if (!ENABLED) return;
+        write(TraceFormat.TYPE_WAIT_POLL, satisfied ? STATUS_OK : STATUS_ERROR, condition, start, duration, 0);
+    }
+
+    public static void waitDone(String condition, long start, long duration, int polls, boolean failed) {
+        if (!ENABLED) return;
+        write(TraceFormat.TYPE_WAIT, failed ? STATUS_ERROR : STATUS_OK, condition, start, duration, polls);
+    }
+
+    /** Directory of this JVM's trace, or null when tracing is disabled. */
+    public static Path runDirectory() {
+        return runDirectory;
+    }
+
+    private static boolean isNavigation(String command) {
+        return switch (command) {
+            case "get", "to", "back", "forward", "refresh" -> true;
+            default -> false;
+        };
+    }
+
+    private static void write(byte type, byte status, String name, long start, long duration, int value) {
+        TraceWriter writer = writers.get();
+        if (writer == null) {
+            writer = openWriter();
+            if (writer == null) return;
+        }
+        writer.write(type, status, nameId(name), start - NANO_BASE, duration, value);
+    }
+
+    private static int nameId(String name) {
+        Integer id = nameIds.get(name);
+        return id != null ? id : register(name);
+    }
+
+    private static synchronized int register(String name) {
+        Integer existing = nameIds.get(name);
+        if (existing != null) return existing;
+
+        int id = nextNameId.getAndIncrement();
+        try {
+            // Tabs/newlines would break the one-name-per-line table
+            namesWriter.write(id + "\t" + name.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ') + "\n");
+            namesWriter.flush();
+        } catch (IOException e) {
+            TestBase.logger.warn("Failed to write trace name table: {}", e.getMessage());
+        }
+        nameIds.put(name, id);
+        return id;
+    }
+
+    private static TraceWriter openWriter() {
+        Thread thread = Thread.currentThread();
+        Path file = runDirectory.resolve("thread-" + nextThreadFile.getAndIncrement() + THREAD_FILE_SUFFIX);
+        try {
+            TraceWriter writer = new TraceWriter(file, thread.threadId(), thread.getName());
+            writers.set(writer);
+            return writer;
+        } catch (IOException e) {
+            TestBase.logger.warn("Tracing disabled for thread {}: {}", thread.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** The run directory, or null (tracing off) when it cannot be created. */
+    private static Path createRunDirectory() {
+        String root = System.getenv().getOrDefault("TRACE_DIR", ReadConfig.getInstance().getTraceDir());
+        String run = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "-" + ProcessHandle.current().pid();
+        Path directory = Path.of(root, run);
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(RUN_FILE),
+                    "epochMillis=" + EPOCH_MILLIS_AT_BASE + "\npid=" + ProcessHandle.current().pid() + "\n",
+                    StandardCharsets.UTF_8);
+            namesWriter = Files.newBufferedWriter(directory.resolve(NAMES_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            TestBase.logger.warn("Tracing disabled, failed to create trace directory {}: {}", directory, e.getMessage());
+            return null;
+        }
+        TestBase.logger.info("Tracing to {}", directory.toAbsolutePath());
+        return directory;
+    }
+}
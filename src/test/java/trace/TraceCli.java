@@ -0,0 +1,206 @@
+package trace;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static trace.TraceFormat.TYPE_STEP;
+import static trace.TraceFormat.TYPE_STEP_BEGIN;
+import static trace.TraceFormat.TYPE_WAIT_POLL;
+
+/**
+ * Turns a binary trace into something readable:
+ * <pre>
+ *   timeline [dir]          per-thread timeline of steps, commands, navigations and waits
+ *   hotspots [dir]          where the time went, grouped by event type and name
+ *   chrome   [dir] [file]   Chrome trace-event JSON (open in chrome://tracing or ui.perfetto.dev)
+ * </pre>
+ * {@code dir} is a run directory or the trace root (default target/trace), in which case the newest
+ * run is used. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=trace.TraceCli -Dexec.args="hotspots"
+ */
+public class TraceCli {
+
+    private static final int HOTSPOT_ROWS = 25;
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /** Aggregated time of one (type, name). */
+    private static final class Hotspot {
+        long count;
+        long totalNanos;
+        long maxNanos;
+        long errors;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "hotspots";
+        Path directory = resolveRun(Path.of(args.length > 1 ? args[1] : "target/trace"));
+        TraceReader.Run run = TraceReader.read(directory);
+
+        switch (command) {
+            case "timeline" -> System.out.print(timeline(run));
+            case "hotspots" -> System.out.print(hotspots(run));
+            case "chrome" -> {
+                Path output = args.length > 2 ? Path.of(args[2]) : directory.resolve("trace.json");
+                Files.writeString(output, chrome(run), StandardCharsets.UTF_8);
+                System.out.println("Chrome trace written to " + output.toAbsolutePath());
+            }
+            default -> throw new IllegalArgumentException("Unknown command '" + command + "', use timeline, hotspots or chrome");
+        }
+    }
+
+    /** A run directory (contains run.properties) or the newest run below a trace root. */
+    static Path resolveRun(Path path) throws IOException {
+        if (Files.exists(path.resolve(TraceFormat.RUN_FILE))) return path;
+        try (Stream<Path> runs = Files.list(path)) {
+            return runs.filter(run -> Files.exists(run.resolve(TraceFormat.RUN_FILE)))
+                    .max(Comparator.comparing(run -> run.getFileName().toString()))
+                    .orElseThrow(() -> new IllegalArgumentException("No trace runs found in " + path));
+        }
+    }
+
+    static String timeline(TraceReader.Run run) {
+        StringBuilder out = new StringBuilder();
+        for (TraceReader.ThreadTrace thread : run.threads()) {
+            out.append("=== Thread ").append(thread.threadName()).append(" (id ").append(thread.threadId()).append(") ===\n");
+
+            List<TraceReader.Event> events = new ArrayList<>();
+            for (TraceReader.Event event : thread.events()) {
+                if (event.type() != TYPE_WAIT_POLL && event.type() != TYPE_STEP_BEGIN) events.add(event);
+            }
+            events.addAll(unfinishedSteps(thread));
+            events.sort(Comparator.comparingLong(TraceReader.Event::start).thenComparing(event -> event.type() != TYPE_STEP));
+
+            long stepEnd = Long.MIN_VALUE;
+            for (TraceReader.Event event : events) {
+                boolean step = event.type() == TYPE_STEP || event.type() == TYPE_STEP_BEGIN;
+                if (step) stepEnd = event.type() == TYPE_STEP ? event.end() : Long.MAX_VALUE;
+                String indent = !step && event.start() <= stepEnd ? "    " : "";
+
+                out.append(TIME.format(Instant.ofEpochMilli(run.epochMillis() + event.start() / 1_000_000)))
+                        .append(String.format(Locale.ROOT, " %10.2f ms  ", event.duration() / 1e6))
+                        .append(indent)
+                        .append(String.format(Locale.ROOT, "%-10s ", TraceFormat.typeName(event.type())))
+                        .append(event.name())
+                        .append(details(event))
+                        .append('\n');
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    static String hotspots(TraceReader.Run run) {
+        Map<String, Hotspot> byName = new HashMap<>();
+        Map<String, Hotspot> byType = new LinkedHashMap<>();
+        for (TraceReader.ThreadTrace thread : run.threads()) {
+            for (TraceReader.Event event : thread.events()) {
+                if (event.type() == TYPE_STEP_BEGIN) continue;
+                String type = TraceFormat.typeName(event.type());
+                add(byName.computeIfAbsent(type + "\t" + event.name(), key -> new Hotspot()), event);
+                add(byType.computeIfAbsent(type, key -> new Hotspot()), event);
+            }
+        }
+
+        StringBuilder out = new StringBuilder("Trace " + run.directory() + "\n\nTime by event type\n");
+        out.append(String.format(Locale.ROOT, "%-12s %8s %12s %8s%n", "type", "count", "total ms", "errors"));
+        byType.forEach((type, spot) -> out.append(String.format(Locale.ROOT, "%-12s %8d %12.1f %8d%n",
+                type, spot.count, spot.totalNanos / 1e6, spot.errors)));
+
+        out.append("\nHotspots (top ").append(HOTSPOT_ROWS).append(" by total time)\n");
+        out.append(String.format(Locale.ROOT, "%-12s %8s %12s %10s %10s %7s  %s%n",
+                "type", "count", "total ms", "mean ms", "max ms", "errors", "name"));
+        byName.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Hotspot> entry) -> entry.getValue().totalNanos).reversed())
+                .limit(HOTSPOT_ROWS)
+                .forEach(entry -> {
+                    String[] key = entry.getKey().split("\t", 2);
+                    Hotspot spot = entry.getValue();
+                    out.append(String.format(Locale.ROOT, "%-12s %8d %12.1f %10.3f %10.1f %7d  %s%n",
+                            key[0], spot.count, spot.totalNanos / 1e6, spot.totalNanos / 1e6 / spot.count,
+                            spot.maxNanos / 1e6, spot.errors, key[1]));
+                });
+        return out.toString();
+    }
+
+    static String chrome(TraceReader.Run run) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (TraceReader.ThreadTrace thread : run.threads()) {
+            events.add(Map.of("name", "thread_name", "ph", "M", "pid", 1, "tid", thread.threadId(),
+                    "args", Map.of("name", thread.threadName())));
+
+            for (TraceReader.Event event : thread.events()) {
+                if (event.type() == TYPE_STEP_BEGIN) continue;
+                events.add(chromeEvent(thread, event, "X"));
+            }
+            for (TraceReader.Event unfinished : unfinishedSteps(thread)) {
+                events.add(chromeEvent(thread, unfinished, "B"));
+            }
+        }
+        return new Json().toJson(Map.of("traceEvents", events, "displayTimeUnit", "ms"));
+    }
+
+    private static Map<String, Object> chromeEvent(TraceReader.ThreadTrace thread, TraceReader.Event event, String phase) {
+        Map<String, Object> chromeEvent = new LinkedHashMap<>();
+        chromeEvent.put("name", event.name());
+        chromeEvent.put("cat", TraceFormat.typeName(event.type()));
+        chromeEvent.put("ph", phase);
+        chromeEvent.put("ts", event.start() / 1000.0);
+        if (phase.equals("X")) chromeEvent.put("dur", event.duration() / 1000.0);
+        chromeEvent.put("pid", 1);
+        chromeEvent.put("tid", thread.threadId());
+        chromeEvent.put("args", Map.of("value", event.value(), "failed", event.failed()));
+        return chromeEvent;
+    }
+
+    /**
+     * Step begin markers without their step record: the step was still running when the trace
+     * ended (hung, killed or crashed JVM), which is usually the interesting part of a slow run.
+     */
+    private static List<TraceReader.Event> unfinishedSteps(TraceReader.ThreadTrace thread) {
+        Deque<TraceReader.Event> open = new ArrayDeque<>();
+        for (TraceReader.Event event : thread.events()) {
+            if (event.type() == TYPE_STEP_BEGIN) open.push(event);
+            else if (event.type() == TYPE_STEP && !open.isEmpty()) open.pop();
+        }
+        List<TraceReader.Event> unfinished = new ArrayList<>();
+        for (TraceReader.Event begin : open) {
+            unfinished.add(new TraceReader.Event(TYPE_STEP_BEGIN, begin.status(), begin.name() + " (unfinished)",
+                    begin.start(), 0, 0));
+        }
+        return unfinished;
+    }
+
+    private static String details(TraceReader.Event event) {
+        String details = switch (event.type()) {
+            case TraceFormat.TYPE_COMMAND, TraceFormat.TYPE_NAVIGATION -> event.value() > 0 ? " (payload " + event.value() + ")" : "";
+            case TraceFormat.TYPE_WAIT -> " (" + event.value() + " polls)";
+            default -> "";
+        };
+        return event.failed() ? details + " FAILED" : details;
+    }
+
+    private static void add(Hotspot spot, TraceReader.Event event) {
+        spot.count++;
+        spot.totalNanos += event.duration();
+        spot.maxNanos = Math.max(spot.maxNanos, event.duration());
+        if (event.failed()) spot.errors++;
+    }
+}
@@ -0,0 +1,54 @@
+package trace;
+
+/**
+ * Binary layout shared by TraceWriter and TraceReader.
+ * <pre>
+ * thread file (thread-&lt;id&gt;.trace):
+ *   header  128 bytes: magic (long), version (int), thread id (long),
+ *                      thread name length (short) + UTF-8 bytes (max 96)
+ *   records  32 bytes each, until the first record with type 0 (unused mapped space):
+ *     0  start     long   nanos since the run's nano base (run.properties)
+ *     8  duration  long   nanos (0 for instant records)
+ *     16 name id   int    index into names.tsv
+ *     20 value     int    payload size for commands, poll count for waits
+ *     24 type      byte   see TYPE_*
+ *     25 status    byte   0 ok, 1 error/failed
+ *     26 reserved
+ * </pre>
+ */
+final class TraceFormat {
+
+    static final long MAGIC = 0x5744545241434531L; // "WDTRACE1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 128;
+    static final int MAX_THREAD_NAME_BYTES = 96;
+    static final int RECORD_SIZE = 32;
+
+    static final byte TYPE_STEP_BEGIN = 1;
+    static final byte TYPE_STEP = 2;
+    static final byte TYPE_COMMAND = 3;
+    static final byte TYPE_NAVIGATION = 4;
+    static final byte TYPE_WAIT_POLL = 5;
+    static final byte TYPE_WAIT = 6;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    static final String NAMES_FILE = "names.tsv";
+    static final String RUN_FILE = "run.properties";
+    static final String THREAD_FILE_SUFFIX = ".trace";
+
+    private TraceFormat() {}
+
+    static String typeName(byte type) {
+        return switch (type) {
+            case TYPE_STEP_BEGIN -> "step-begin";
+            case TYPE_STEP -> "step";
+            case TYPE_COMMAND -> "command";
+            case TYPE_NAVIGATION -> "navigation";
+            case TYPE_WAIT_POLL -> "wait-poll";
+            case TYPE_WAIT -> "wait";
+            default -> "unknown(" + type + ")";
+        };
+    }
+}
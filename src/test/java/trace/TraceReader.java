@@ -0,0 +1,89 @@
+package trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static trace.TraceFormat.HEADER_SIZE;
+import static trace.TraceFormat.MAGIC;
+import static trace.TraceFormat.RECORD_SIZE;
+
+/** Reads a trace run directory written by Trace. */
+final class TraceReader {
+
+    /** One decoded record; start is nanos since the run's base. */
+    record Event(byte type, byte status, String name, long start, long duration, int value) {
+        long end() {
+            return start + duration;
+        }
+
+        boolean failed() {
+            return status == TraceFormat.STATUS_ERROR;
+        }
+    }
+
+    /** All records of one thread, in write order. */
+    record ThreadTrace(long threadId, String threadName, List<Event> events) {}
+
+    /** A whole run: wall clock of the nano base plus every thread. */
+    record Run(Path directory, long epochMillis, List<ThreadTrace> threads) {}
+
+    private TraceReader() {}
+
+    static Run read(Path directory) throws IOException {
+        Properties run = new Properties();
+        try (InputStream stream = Files.newInputStream(directory.resolve(TraceFormat.RUN_FILE))) {
+            run.load(stream);
+        }
+
+        Map<Integer, String> names = new HashMap<>();
+        for (String line : Files.readAllLines(directory.resolve(TraceFormat.NAMES_FILE), StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab > 0) names.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1));
+        }
+
+        List<ThreadTrace> threads = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(TraceFormat.THREAD_FILE_SUFFIX)).sorted().toList()) {
+                threads.add(readThread(file, names));
+            }
+        }
+        threads.sort(Comparator.comparingLong(ThreadTrace::threadId));
+        return new Run(directory, Long.parseLong(run.getProperty("epochMillis")), threads);
+    }
+
+    private static ThreadTrace readThread(Path file, Map<Integer, String> names) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getLong() != MAGIC) {
+                throw new IOException("Not a trace file: " + file);
+            }
+            buffer.getInt(); // version
+            long threadId = buffer.getLong();
+            byte[] threadName = new byte[buffer.getShort()];
+            buffer.get(threadName);
+
+            List<Event> events = new ArrayList<>();
+            for (int offset = HEADER_SIZE; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+                byte type = buffer.get(offset + 24);
+                if (type == 0) break; // end of written records
+                int nameId = buffer.getInt(offset + 16);
+                events.add(new Event(type, buffer.get(offset + 25), names.getOrDefault(nameId, "#" + nameId),
+                        buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getInt(offset + 20)));
+            }
+            return new ThreadTrace(threadId, new String(threadName, StandardCharsets.UTF_8), events);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static trace.TraceFormat.HEADER_SIZE;
+import static trace.TraceFormat.MAGIC;
+import static trace.TraceFormat.MAX_THREAD_NAME_BYTES;
+import static trace.TraceFormat.RECORD_SIZE;
+import static trace.TraceFormat.VERSION;
+
+/**
+ * Appends fixed-size records to one thread's memory-mapped trace file.
+ * Owned by a single thread; writes are plain buffer puts (no allocation, no locking, no syscalls)
+ * except when the current mapped region is full and the next one is mapped.
+ * Records reach the page cache immediately, so a trace survives a killed or hung JVM.
+ */
+final class TraceWriter {
+
+    /** Size of each mapped region: 128k records. */
+    private static final long REGION_SIZE = 4L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionOffset;
+
+    TraceWriter(Path file, long threadId, String threadName) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+
+        byte[] name = threadName.getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(name.length, MAX_THREAD_NAME_BYTES);
+        region.putLong(MAGIC).putInt(VERSION).putLong(threadId).putShort((short) nameLength).put(name, 0, nameLength);
+        region.position(HEADER_SIZE);
+    }
+
+    void write(byte type, byte status, int nameId, long start, long duration, int value) {
+        if (region.remaining() < RECORD_SIZE) {
+            nextRegion();
+        }
+        region.putLong(start)
+                .putLong(duration)
+                .putInt(nameId)
+                .putInt(value)
+                .put(type)
+                .put(status)
+                .putShort((short) 0)
+                .putInt(0);
+    }
+
+    private void nextRegion() {
+        try {
+            regionOffset += REGION_SIZE;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionOffset, REGION_SIZE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to extend trace file: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package trace;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait that records every poll of the condition and the overall wait in the trace,
+ * so time lost to polling (e.g. a wait that only times out) shows up next to the commands.
+ * The condition's name is resolved once per wait; polls only write records. Lambdas have no
+ * readable name, so wrap them with {@link #labelled}; an unlabelled lambda is traced by its
+ * declaring class, without the per-JVM identity that would split it across runs.
+ */
+public class TracedWait extends WebDriverWait {
+
+    public TracedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    /** A condition named by the given label in the trace and in the wait's timeout message. */
+    public static <V> Function<WebDriver, V> labelled(String label, Function<? super WebDriver, V> condition) {
+        return new Function<>() {
+            @Override
+            public V apply(WebDriver driver) {
+                return condition.apply(driver);
+            }
+
+            @Override
+            public String toString() {
+                return label;
+            }
+        };
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        if (!Trace.ENABLED) {
+            return super.until(isTrue);
+        }
+
+        String condition = name(isTrue);
+        int[] polls = {0};
+        long start = Trace.now();
+        boolean failed = true;
+        try {
+            // Named like the condition, which FluentWait puts in its timeout message
+            V value = super.until(labelled(String.valueOf(isTrue), driver -> {
+                long pollStart = Trace.now();
+                V result = null;
+                try {
+                    result = isTrue.apply(driver);
+                    return result;
+                } finally {
+                    polls[0]++;
+                    Trace.waitPoll(condition, pollStart, Trace.now() - pollStart,
+                            result != null && !Boolean.FALSE.equals(result));
+                }
+            }));
+            failed = false;
+            return value;
+        } finally {
+            // Timed out, or the condition threw an exception the wait does not ignore
+            Trace.waitDone(condition, start, Trace.now() - start, polls[0], failed);
+        }
+    }
+
+    /** e.g. "behaviour.GetMethods lambda" instead of "behaviour.GetMethods$$Lambda/0x...@1b2c3d". */
+    private static String name(Object condition) {
+        String name = String.valueOf(condition);
+        int lambda = name.indexOf("$$Lambda");
+        return lambda < 0 ? name : name.substring(0, lambda) + " lambda";
+    }
+}
@@ -0,0 +1,68 @@
+package utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * A properties file shared by concurrent JVMs (e.g. forks recording results into one local cache).
+ * Reads hold a shared and updates an exclusive file lock, so no JVM loses another's changes.
+ */
+public final class LockedProperties {
+
+    private LockedProperties() {}
+
+    /** Current entries; empty when the file does not exist yet. */
+    public static Properties read(Path file) {
+        if (!Files.exists(file)) {
+            return new Properties();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            return parse(channel);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Applies a change to the entries on disk under an exclusive lock. */
+    public static void update(Path file, String comment, Consumer<Properties> change) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Properties entries = parse(channel);
+                change.accept(entries);
+
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                entries.store(content, comment);
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(content.toByteArray()), 0);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Properties parse(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // read until the whole file is in the buffer
+        }
+        Properties entries = new Properties();
+        entries.load(new StringReader(new String(buffer.array(), 0, buffer.position(), StandardCharsets.ISO_8859_1)));
+        return entries;
+    }
+}
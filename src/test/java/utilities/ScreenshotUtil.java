@@ -1,5 +1,6 @@
 package utilities;
 
+import metrics.FrameworkMetrics;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
@@ -46,6 +47,7 @@ public class ScreenshotUtil {
             File sourceFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
             File destinationFile = new File(filePath);
             FileUtils.copyFile(sourceFile, destinationFile);
+            FrameworkMetrics.screenshotWritten();
             logger.info("Screenshot saved at: {}", filePath);
         } catch (IOException e) {
             logger.error("Failed to capture screenshot: {}", e.getMessage());
@@ -0,0 +1,194 @@
+package watchdog;
+
+import base.TestBase;
+import configuration.ReadConfig;
+import metrics.FrameworkMetrics;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Hung-command watchdog and session reaper.
+ * <p>
+ * TestBase guards every session it creates (commandWatchdog=true, COMMAND_WATCHDOG): each
+ * command is registered as in flight and a daemon thread checks them every second. A command
+ * that runs longer than commandWatchdogSeconds (COMMAND_WATCHDOG_SECONDS) quarantines its
+ * session: the local driver process and the browser it started are killed, which makes the
+ * stuck HTTP call fail at once (remote sessions, whose processes are not ours, get the worker
+ * thread interrupted instead). The command and every later one on the session throw
+ * SessionQuarantinedException naming the command, how long it ran and where the worker was,
+ * so the scenario fails in seconds instead of waiting on the HTTP client or the test timeout.
+ * <p>
+ * Quitting a quarantined session only releases what is left of it, on a daemon thread, so a
+ * dead session never blocks the After hook. Sessions still open when the JVM exits (a killed
+ * worker, a skipped quit) have their process trees reaped by a shutdown hook.
+ */
+public final class CommandWatchdog {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getenv()
+            .getOrDefault("COMMAND_WATCHDOG", String.valueOf(ReadConfig.getInstance().isCommandWatchdogEnabled())));
+    private static final long THRESHOLD_NANOS = TimeUnit.SECONDS.toNanos(Long.parseLong(System.getenv()
+            .getOrDefault("COMMAND_WATCHDOG_SECONDS", String.valueOf(ReadConfig.getInstance().getCommandWatchdogSeconds()))));
+
+    /** Frames of the stuck worker's stack shown in the diagnosis. */
+    private static final int STACK_FRAMES = 15;
+
+    /** Sessions created and not yet quit. */
+    private static final Set<GuardedSession> open = ConcurrentHashMap.newKeySet();
+
+    private static ScheduledExecutorService scanner;
+
+    private CommandWatchdog() {}
+
+    /**
+     * Wraps a newly created driver so that a command hanging on it is detected and aborted, and
+     * fires the given listeners on it. This is the only decorator TestBase puts on a driver.
+     */
+    public static WebDriver guard(WebDriver driver, String browser, WebDriverListener... listeners) {
+        if (!ENABLED) {
+            return listeners.length == 0 ? driver : new EventFiringDecorator<>(listeners).decorate(driver);
+        }
+        start();
+        GuardedSession session = new GuardedSession(driver, browser);
+        open.add(session);
+        return new WatchdogDecorator(session, listeners).decorate(driver);
+    }
+
+    /**
+     * The diagnosis of a quarantined session, or null when the driver is healthy (or not
+     * guarded).
+     */
+    public static String diagnosis(WebDriver driver) {
+        GuardedSession session = find(driver);
+        return session == null ? null : session.diagnosis();
+    }
+
+    public static boolean isQuarantined(WebDriver driver) {
+        return diagnosis(driver) != null;
+    }
+
+    // ----------------------- Scanning -----------------------
+
+    private static synchronized void start() {
+        if (scanner != null) return;
+        scanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "command-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scanner.scheduleWithFixedDelay(CommandWatchdog::scan, 1, 1, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(CommandWatchdog::reapOrphans, "session-reaper"));
+    }
+
+    private static void scan() {
+        try {
+            long now = System.nanoTime();
+            for (GuardedSession session : open) {
+                if (session.isQuarantined()) continue;
+                for (GuardedSession.Call call : session.inFlight.values()) {
+                    if (now - call.startNanos > THRESHOLD_NANOS) {
+                        abort(session, call, now - call.startNanos);
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // A failing scan must not cancel the schedule
+            TestBase.logger.warn("Command watchdog scan failed: {}", e.getMessage());
+        }
+    }
+
+    private static void abort(GuardedSession session, GuardedSession.Call call, long elapsedNanos) {
+        List<ProcessHandle> processes = session.processTree();
+        String diagnosis = String.format("Hung WebDriver command: %s on %s session %s ran for %d s"
+                        + " (commandWatchdogSeconds=%d); the session is quarantined and %s.%nWorker thread '%s' was at:%n%s",
+                call.command, session.browser, session.sessionId, TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+                TimeUnit.NANOSECONDS.toSeconds(THRESHOLD_NANOS),
+                processes.isEmpty() ? "the worker thread was interrupted"
+                        : "its driver/browser processes were killed (pids " + pids(processes) + ")",
+                call.thread.getName(), stack(call.thread));
+        if (!session.quarantine(diagnosis)) return;
+
+        TestBase.logger.error(diagnosis);
+        FrameworkMetrics.commandHung(session.browser);
+        if (processes.isEmpty()) {
+            call.thread.interrupt();
+        } else {
+            kill(processes);
+        }
+    }
+
+    // ----------------------- Reaping -----------------------
+
+    /** Quit of a quarantined session: kills what is left and quits the driver without waiting for it. */
+    static void release(GuardedSession session) {
+        forget(session);
+        kill(session.processTree());
+        Thread quitter = new Thread(() -> {
+            try {
+                session.driver.quit();
+            } catch (RuntimeException e) {
+                // The session is already gone; quit only frees the client side
+            }
+        }, "session-reaper-" + session.sessionId);
+        quitter.setDaemon(true);
+        quitter.start();
+    }
+
+    /** A session that was quit normally. */
+    static void forget(GuardedSession session) {
+        open.remove(session);
+    }
+
+    private static void reapOrphans() {
+        int reaped = 0;
+        for (GuardedSession session : open) {
+            List<ProcessHandle> processes = session.processTree();
+            kill(processes);
+            reaped += processes.size();
+        }
+        if (reaped > 0) {
+            TestBase.logger.warn("Session reaper killed {} orphaned driver/browser process(es) of {} session(s) that were not quit",
+                    reaped, open.size());
+        }
+    }
+
+    /**
+     * Kills in processTree order: renderers and the browser before the driver, so the driver
+     * cannot start another browser.
+     */
+    private static void kill(List<ProcessHandle> processes) {
+        processes.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    /** The open session of a guarded driver. */
+    private static GuardedSession find(WebDriver driver) {
+        WebDriver raw = driver instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : driver;
+        for (GuardedSession session : open) {
+            if (session.driver == raw) return session;
+        }
+        return null;
+    }
+
+    private static String pids(List<ProcessHandle> processes) {
+        return processes.stream().map(process -> String.valueOf(process.pid())).collect(Collectors.joining(", "));
+    }
+
+    private static String stack(Thread thread) {
+        return Arrays.stream(thread.getStackTrace()).limit(STACK_FRAMES)
+                .map(frame -> "    at " + frame)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,118 @@
+package watchdog;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One watched WebDriver session: the commands in flight on it (one outermost call per thread),
+ * its local driver process when there is one, and the diagnosis once it is quarantined.
+ */
+final class GuardedSession {
+
+    /** The outermost command a thread is running on the session. */
+    static final class Call {
+        final Thread thread = Thread.currentThread();
+        final String command;
+        final long startNanos = System.nanoTime();
+        int depth = 1;
+
+        Call(String command) {
+            this.command = command;
+        }
+    }
+
+    final WebDriver driver;
+    final String browser;
+    final String sessionId;
+    /** The local driver service (chromedriver, geckodriver, ...); empty for remote and in-process drivers. */
+    final Optional<ProcessHandle> driverProcess;
+    final Map<Thread, Call> inFlight = new ConcurrentHashMap<>();
+    private volatile String diagnosis;
+
+    GuardedSession(WebDriver driver, String browser) {
+        this.driver = driver;
+        this.browser = browser;
+        this.sessionId = driver instanceof RemoteWebDriver remote && remote.getSessionId() != null
+                ? remote.getSessionId().toString() : "in-process";
+        this.driverProcess = findDriverProcess(driver);
+    }
+
+    void begin(String command) {
+        inFlight.compute(Thread.currentThread(), (thread, call) -> {
+            if (call == null) return new Call(command);
+            call.depth++;
+            return call;
+        });
+    }
+
+    void end() {
+        inFlight.computeIfPresent(Thread.currentThread(), (thread, call) -> --call.depth == 0 ? null : call);
+    }
+
+    boolean isQuarantined() {
+        return diagnosis != null;
+    }
+
+    String diagnosis() {
+        return diagnosis;
+    }
+
+    /** Marks the session unusable; true only for the first caller. */
+    synchronized boolean quarantine(String reason) {
+        if (diagnosis != null) return false;
+        diagnosis = reason;
+        return true;
+    }
+
+    /**
+     * The driver process and everything it started (browser, renderers), deepest first: every
+     * process comes before its parent and the driver comes last.
+     */
+    List<ProcessHandle> processTree() {
+        return driverProcess.filter(ProcessHandle::isAlive)
+                .map(process -> {
+                    Map<ProcessHandle, Integer> depths = process.descendants()
+                            .collect(Collectors.toMap(Function.identity(), descendant -> depth(descendant, process)));
+                    return Stream.concat(
+                            depths.keySet().stream().sorted(Comparator.comparing(depths::get, Comparator.reverseOrder())),
+                            Stream.of(process)).toList();
+                })
+                .orElse(List.of());
+    }
+
+    /** Generations between a descendant and the driver process (1 for the browser it started). */
+    private static int depth(ProcessHandle descendant, ProcessHandle driver) {
+        int depth = 0;
+        for (Optional<ProcessHandle> current = Optional.of(descendant);
+             current.isPresent() && current.get().pid() != driver.pid();
+             current = current.get().parent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * The driver service a local session talks to: the child of this JVM started with the port of
+     * the session's command executor. Remote sessions talk to a hub, which is not a child process.
+     */
+    private static Optional<ProcessHandle> findDriverProcess(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver remote) || !(remote.getCommandExecutor() instanceof HttpCommandExecutor http)) {
+            return Optional.empty();
+        }
+        Pattern port = Pattern.compile("--port[= ]" + http.getAddressOfRemoteServer().getPort() + "\\b");
+        return ProcessHandle.current().children()
+                .filter(process -> process.info().commandLine().map(line -> port.matcher(line).find()).orElse(false))
+                .findFirst();
+    }
+}
@@ -0,0 +1,14 @@
+package watchdog;
+
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Thrown by a session the command watchdog quarantined: by the command that hung (with the
+ * diagnosis of what was stuck and where) and by every later command on that session.
+ */
+public class SessionQuarantinedException extends WebDriverException {
+
+    public SessionQuarantinedException(String diagnosis, Throwable cause) {
+        super(diagnosis, cause);
+    }
+}
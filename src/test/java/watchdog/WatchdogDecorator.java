@@ -0,0 +1,82 @@
+package watchdog;
+
+import instrumentation.CommandTimingListener;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Registers every command made through the decorated driver (and the elements, windows, ...
+ * obtained from it) as in flight on its GuardedSession, so CommandWatchdog can see how long it
+ * has been running. A quarantined session fails every command at once, and its quit goes to
+ * the reaper instead of the dead driver.
+ * <p>
+ * It is also the event-firing decorator for the other listeners (CommandTimingListener):
+ * Selenium decorators cannot be stacked, unwrapping a stacked driver (WebDriverWait does on a
+ * timeout) returns a newly decorated driver every time and never ends.
+ */
+final class WatchdogDecorator extends EventFiringDecorator<WebDriver> {
+
+    private final GuardedSession session;
+
+    WatchdogDecorator(GuardedSession session, WebDriverListener... listeners) {
+        super(listeners);
+        this.session = session;
+    }
+
+    @Override
+    public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+        // Local accessors never reach the browser, so they cannot hang
+        if (CommandTimingListener.LOCAL_CALLS.contains(method.getName())) {
+            return super.call(target, method, args);
+        }
+        boolean quit = "quit".equals(method.getName()) && target.getOriginal() instanceof WebDriver;
+        if (session.isQuarantined()) {
+            if (quit) {
+                CommandWatchdog.release(session);
+                return null;
+            }
+            // Thrown as the call's own error, so the listeners see a failed command
+            throw new InvocationTargetException(new SessionQuarantinedException(session.diagnosis(), null));
+        }
+
+        session.begin(describe(method, args));
+        try {
+            Object result = super.call(target, method, args);
+            if (quit) CommandWatchdog.forget(session);
+            return result;
+        } finally {
+            session.end();
+        }
+    }
+
+    @Override
+    public Object onError(Decorated<?> target, Method method, Object[] args, InvocationTargetException e) throws Throwable {
+        if (!session.isQuarantined()) {
+            return super.onError(target, method, args, e);
+        }
+        // The watchdog may have interrupted this thread to get it out of the hung call
+        Thread.interrupted();
+        try {
+            super.onError(target, method, args, e);
+        } catch (Throwable error) {
+            // Rethrown by the listeners; replaced by the diagnosis below
+        }
+        throw e.getTargetException() instanceof SessionQuarantinedException quarantined ? quarantined
+                : new SessionQuarantinedException(session.diagnosis(), e.getTargetException());
+    }
+
+    /** The command and its locator or URL, which is usually enough to tell what was stuck. */
+    private static String describe(Method method, Object[] args) {
+        if (args != null && args.length > 0 && (args[0] instanceof By || args[0] instanceof String)) {
+            String argument = String.valueOf(args[0]);
+            return method.getName() + "(" + (argument.length() > 120 ? argument.substring(0, 120) + "..." : argument) + ")";
+        }
+        return method.getName();
+    }
+}
@@ -30,3 +30,15 @@ Feature: Add highest priced item to cart
       | problem_user            |
       | locked_out_user         |
 
+  @optional @regression
+  Scenario: Standard user with a cached session adds the highest priced item to the cart
+    Given I am logged in as "standard_user" with password "secret_sauce"
+    When I select the highest priced item without using sort
+    And I add the selected item to the cart
+    Then the cart should contain the selected highest priced item
+
+  @optional @regression
+  Scenario: Standard user opens a cart seeded with an item
+    Given I am logged in as "standard_user" with password "secret_sauce"
+    And the cart contains the item "Sauce Labs Fleece Jacket"
+    Then the cart should contain the item "Sauce Labs Fleece Jacket"